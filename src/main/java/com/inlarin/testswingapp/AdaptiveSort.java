@@ -0,0 +1,231 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+
+/**
+ * Looks at the input before sorting it and hands it to the algorithm that suits it best.
+ * The value range and the number of monotone runs are measured exactly in one pass, while the share of inverted pairs
+ * and the number of distinct values are estimated from a small evenly spaced sample.
+ * Input that is a single run, such as the result of the previous sort, or is made of a few long runs is merged
+ * by {@link RunMergeSort}, as is input of shorter runs whose sample is nearly sorted or nearly reversed.
+ * Narrow ranges go to {@link CountingSort}, large inputs with many distinct values go to
+ * {@link ParallelQuickSort} and everything else to {@link PdqSort}.
+ * The last decision is kept, and the {@link SortStats} count the decisions of every sort they record per route,
+ * so the choices can be audited.
+ * The delegates keep per-sort state, so an instance must not be shared between concurrently running sorts.
+ */
+@Slf4j
+final class AdaptiveSort implements SortAlgorithm {
+
+    /**
+     * Algorithms the selector can route an input to.
+     */
+    enum Route {
+        COUNTING,
+        RUN_MERGE,
+        PDQ,
+        PARALLEL
+    }
+
+    /**
+     * Measurements of one input and the route chosen for it.
+     *
+     * @param route            the chosen algorithm
+     * @param size             the number of elements
+     * @param min              the smallest value
+     * @param max              the largest value
+     * @param runs             the number of ascending or descending runs
+     * @param inversionRatio   the estimated share of pairs that are out of the requested order
+     * @param distinctEstimate the number of distinct values among the sampled elements
+     * @param sampleSize       the number of sampled elements
+     */
+    record Decision(Route route, int size, int min, int max, int runs, double inversionRatio,
+                    int distinctEstimate, int sampleSize) {
+    }
+
+    /**
+     * Number of elements sampled to estimate inversions and distinct values.
+     */
+    static final int SAMPLE_SIZE = 64;
+
+    /**
+     * Inputs whose runs are at least this long on average are merged run by run.
+     */
+    static final int MIN_AVERAGE_RUN = 32;
+
+    /**
+     * Inputs whose sample is nearly sorted or nearly reversed are merged run by run once their runs are at least
+     * this long on average: the runs then already lie close to their final place.
+     */
+    static final int MIN_PRESORTED_RUN = 8;
+
+    /**
+     * Largest share of inverted sampled pairs, or of pairs in order for the reverse, that counts as nearly sorted.
+     */
+    static final double PRESORTED_INVERSIONS = 0.05;
+
+    /**
+     * Inputs at least this large may be sorted in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    /**
+     * Sort for inputs made of a few long runs.
+     */
+    private final RunMergeSort runMergeSort = new RunMergeSort();
+
+    /**
+     * Sort for everything else.
+     */
+    private final PdqSort pdqSort = new PdqSort();
+
+    /**
+     * Sort for large inputs with many distinct values.
+     */
+    private final ParallelQuickSort parallelSort = new ParallelQuickSort();
+
+    /**
+     * Number of processors, large inputs are only sorted in parallel if there is more than one.
+     */
+    private final int processors;
+
+    /**
+     * Scratch space for the sampled values.
+     */
+    private final int[] sample = new int[SAMPLE_SIZE];
+
+    /**
+     * The decision taken for the last sorted input, null before the first sort.
+     */
+    @Getter
+    private volatile Decision lastDecision;
+
+    /**
+     * Deepest explicit stack of the last sort, only the parallel route keeps one.
+     */
+    private int lastStackDepth;
+
+    /**
+     * Creates a selector that may sort in parallel if the machine has more than one processor.
+     */
+    AdaptiveSort() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a selector for the given number of processors.
+     *
+     * @param processors the number of processors available for parallel sorting
+     */
+    AdaptiveSort(int processors) {
+        this.processors = processors;
+    }
+
+    @Override
+    public String getName() {
+        return "Adaptive";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        if (arr.length < 2) {
+            lastStackDepth = 0;
+            return;
+        }
+
+        Decision decision = decide(arr, descending);
+        lastDecision = decision;
+        log.debug("Sorting {}", decision);
+
+        switch (decision.route()) {
+            case COUNTING -> CountingSort.countingSort(arr, decision.min(), decision.max(), descending, listener);
+            case RUN_MERGE -> runMergeSort.sort(arr, descending, listener);
+            case PARALLEL -> parallelSort.sort(arr, descending, listener);
+            default -> pdqSort.sort(arr, descending, listener);
+        }
+        lastStackDepth = decision.route() == Route.PARALLEL ? parallelSort.lastStackDepth() : 0;
+    }
+
+    @Override
+    public int lastStackDepth() {
+        return lastStackDepth;
+    }
+
+    /**
+     * Measures the input and chooses the route. Reading the input is not reported to any listener,
+     * as it does not change the array.
+     *
+     * @param arr        the array to be sorted, at least two elements
+     * @param descending true to sort in descending order, false for ascending order
+     * @return the decision
+     */
+    Decision decide(int[] arr, boolean descending) {
+        int n = arr.length;
+        int min = arr[0];
+        int max = arr[0];
+        int runs = 1;
+        int direction = 0;
+        for (int i = 1; i < n; i++) {
+            int value = arr[i];
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+            int step = Integer.compare(value, arr[i - 1]);
+            if (step != 0) {
+                if (direction == 0) {
+                    direction = step;
+                } else if (step != direction) {
+                    runs++;
+                    direction = 0;
+                }
+            }
+        }
+
+        int sampleSize = Math.min(n, SAMPLE_SIZE);
+        for (int k = 0; k < sampleSize; k++) {
+            sample[k] = arr[(int) ((long) k * (n - 1) / Math.max(1, sampleSize - 1))];
+        }
+        long inverted = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            for (int j = i + 1; j < sampleSize; j++) {
+                if (before(sample[j], sample[i], descending)) {
+                    inverted++;
+                }
+            }
+        }
+        double inversionRatio = (double) inverted / ((long) sampleSize * (sampleSize - 1) / 2);
+
+        Arrays.sort(sample, 0, sampleSize);
+        int distinct = 1;
+        for (int k = 1; k < sampleSize; k++) {
+            if (sample[k] != sample[k - 1]) {
+                distinct++;
+            }
+        }
+
+        boolean presorted = inversionRatio <= PRESORTED_INVERSIONS || inversionRatio >= 1 - PRESORTED_INVERSIONS;
+        Route route;
+        if (runs == 1 || (long) runs * MIN_AVERAGE_RUN <= n || (presorted && (long) runs * MIN_PRESORTED_RUN <= n)) {
+            route = Route.RUN_MERGE;
+        } else if (CountingSort.fitsCounting(min, max, n)) {
+            route = Route.COUNTING;
+        } else if (n >= PARALLEL_THRESHOLD && processors > 1 && 2 * distinct >= sampleSize) {
+            route = Route.PARALLEL;
+        } else {
+            route = Route.PDQ;
+        }
+        return new Decision(route, n, min, max, runs, inversionRatio, distinct, sampleSize);
+    }
+}
@@ -0,0 +1,417 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.swing.Timer;
+
+/**
+ * Plays the steps of a sort on a {@link NumbersModel} at a steady frame rate.
+ * The sort runs at full speed on its own thread and only packs its swaps and writes into a {@link StepRingBuffer};
+ * a Swing {@link Timer} then drains up to {@link #getStepsPerFrame()} of them per frame on the event dispatch thread,
+ * highlights the numbers touched in the frame and fires the model events of the whole frame at once.
+ * Animation speed and sort throughput are therefore independent, and Swing is only touched on its own thread.
+ * When the sort runs ahead of the animation, the {@link Backpressure} decides whether it waits or the states are dropped.
+ * Besides a running sort, the scheduler can play any other {@link Playback}, such as a recorded {@link SortTrace}.
+ */
+final class AnimationScheduler {
+
+    /**
+     * Delay between frames for the frame-paced speeds, about 60 frames per second.
+     */
+    static final int FRAME_DELAY = 16;
+
+    /**
+     * Default number of steps buffered between the sort and the animation.
+     */
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The animated numbers.
+     */
+    private final NumbersModel model;
+
+    /**
+     * Clock that applies the buffered steps, firing on the event dispatch thread.
+     */
+    private final Timer timer;
+
+    /**
+     * Indices highlighted in the previous frame, reset at the start of the next one.
+     */
+    private final IntStack highlighted = new IntStack();
+
+    /**
+     * Number of swaps and writes applied in the current frame.
+     */
+    private int frameMoves;
+
+    /**
+     * Applies drained steps to the model and highlights them.
+     */
+    private final SortListener frameApplier = new SortListener() {
+        @Override
+        public void onSwap(int i, int j) {
+            model.swap(i, j);
+            frameMoves++;
+            if (i == j) {
+                highlight(i, CellState.SWAP_SELF);
+            } else {
+                highlight(i, CellState.SWAP_FIRST);
+                highlight(j, CellState.SWAP_SECOND);
+            }
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            model.write(index, value);
+            frameMoves++;
+            highlight(index, CellState.WRITE);
+        }
+    };
+
+    /**
+     * Number of steps applied per frame.
+     */
+    @Getter
+    private int stepsPerFrame = 1;
+
+    /**
+     * What a sort does when the buffer of the next animation is full.
+     */
+    @Getter
+    @Setter
+    private Backpressure backpressure = Backpressure.BLOCK;
+
+    /**
+     * Number of steps buffered by the next animation.
+     */
+    @Getter
+    private int capacity = DEFAULT_CAPACITY;
+
+    /**
+     * The steps being played, null when idle.
+     */
+    private Playback current;
+
+    /**
+     * Called after the last step of {@link #current} has been played.
+     */
+    private Runnable onFinished;
+
+    /**
+     * Creates an idle scheduler for the model.
+     *
+     * @param model the animated numbers
+     */
+    AnimationScheduler(NumbersModel model) {
+        this.model = model;
+        this.timer = new Timer(FRAME_DELAY, e -> playFrame());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Sets the delay between frames and the number of steps applied per frame.
+     *
+     * @param speed the playback speed
+     */
+    void setSpeed(AnimationSpeed speed) {
+        setFrameDelay(speed.getFrameDelay());
+        setStepsPerFrame(speed.getStepsPerFrame());
+    }
+
+    /**
+     * Sets the delay between frames.
+     *
+     * @param frameDelay the delay in milliseconds
+     */
+    void setFrameDelay(int frameDelay) {
+        timer.setDelay(frameDelay);
+        timer.setInitialDelay(frameDelay);
+    }
+
+    /**
+     * Returns the delay between frames.
+     *
+     * @return the delay in milliseconds
+     */
+    int getFrameDelay() {
+        return timer.getDelay();
+    }
+
+    /**
+     * Sets the number of steps applied per frame.
+     *
+     * @param stepsPerFrame the steps per frame, at least 1
+     */
+    void setStepsPerFrame(int stepsPerFrame) {
+        if (stepsPerFrame < 1) {
+            throw new IllegalArgumentException("Steps per frame must be at least 1, got " + stepsPerFrame);
+        }
+        this.stepsPerFrame = stepsPerFrame;
+    }
+
+    /**
+     * Sets the number of steps buffered by the next animation.
+     *
+     * @param capacity the capacity, rounded up to a power of two
+     */
+    void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Starts a new animation, dropping the one being played. Must be called on the event dispatch thread.
+     *
+     * @param onFinished called on the event dispatch thread after the last step has been played
+     * @return the listener the sort reports its steps to, {@link Animation#finish(int[])} must be called when it is done
+     */
+    Animation start(Runnable onFinished) {
+        Animation animation = new Animation(new StepRingBuffer(capacity), backpressure);
+        play(animation, onFinished);
+        return animation;
+    }
+
+    /**
+     * Plays a recorded trace, dropping whatever is being played. The model must show the numbers the trace starts from.
+     * Must be called on the event dispatch thread.
+     *
+     * @param trace      the trace to play
+     * @param onFinished called on the event dispatch thread after the last step has been played
+     */
+    void play(SortTrace trace, Runnable onFinished) {
+        play(new TracePlayback(trace), onFinished);
+    }
+
+    /**
+     * Plays the given steps, dropping whatever is being played. Must be called on the event dispatch thread.
+     *
+     * @param playback   the steps to play
+     * @param onFinished called on the event dispatch thread after the last step has been played
+     */
+    void play(Playback playback, Runnable onFinished) {
+        cancel();
+        current = playback;
+        this.onFinished = onFinished;
+        timer.start();
+    }
+
+    /**
+     * Drops the animation being played without calling its completion callback, releasing a sort waiting for space.
+     * Must be called on the event dispatch thread.
+     */
+    void cancel() {
+        timer.stop();
+        if (current != null) {
+            current.cancel();
+            current = null;
+            onFinished = null;
+        }
+        model.beginUpdate();
+        try {
+            clearHighlights();
+        } finally {
+            model.endUpdate();
+        }
+    }
+
+    /**
+     * Checks whether an animation is being played.
+     *
+     * @return true until the last step of the current animation has been played
+     */
+    boolean isRunning() {
+        return current != null;
+    }
+
+    /**
+     * Applies the steps of one frame to the model, which fires at most one value and one state event for the frame.
+     */
+    void playFrame() {
+        Playback playback = current;
+        if (playback == null) {
+            timer.stop();
+            return;
+        }
+
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        frameMoves = 0;
+        boolean done;
+        model.beginUpdate();
+        try {
+            clearHighlights();
+            done = playback.playTo(frameApplier, stepsPerFrame);
+            if (done) {
+                clearHighlights();
+                playback.complete(model);
+            }
+        } finally {
+            model.endUpdate();
+        }
+        SortStats.get().recordFrame();
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = model.getSortAlgorithm();
+            event.order = model.getSortOrder().name();
+            event.count = model.size();
+            event.moves = frameMoves;
+            event.done = done;
+            event.commit();
+        }
+
+        if (done) {
+            Runnable finished = onFinished;
+            timer.stop();
+            current = null;
+            onFinished = null;
+            finished.run();
+        }
+    }
+
+    private void highlight(int index, CellState state) {
+        model.setState(index, state);
+        highlighted.push(index);
+    }
+
+    private void clearHighlights() {
+        while (!highlighted.isEmpty()) {
+            int index = highlighted.pop();
+            if (index < model.size()) {
+                model.setState(index, CellState.NORMAL);
+            }
+        }
+    }
+
+    /**
+     * Source of the steps played by the scheduler. All methods are called on the event dispatch thread.
+     */
+    interface Playback {
+
+        /**
+         * Reports up to {@code maxMoves} swaps and writes to the target, in order.
+         *
+         * @param target   applies the steps to the model
+         * @param maxMoves the maximum number of swaps and writes to report
+         * @return true if every step has been played
+         */
+        boolean playTo(SortListener target, int maxMoves);
+
+        /**
+         * Called once every step has been played, while the model still holds back its events.
+         *
+         * @param model the animated numbers
+         */
+        default void complete(NumbersModel model) {
+        }
+
+        /**
+         * Called when the scheduler drops the playback before its last step.
+         */
+        default void cancel() {
+        }
+    }
+
+    /**
+     * Steps of one running sort waiting to be played. Filled by the sorting thread, drained by the event dispatch thread.
+     */
+    static final class Animation implements SortListener, Playback {
+
+        /**
+         * Steps not played yet.
+         */
+        private final StepRingBuffer steps;
+
+        /**
+         * What to do when the buffer is full.
+         */
+        private final Backpressure backpressure;
+
+        /**
+         * Set when the scheduler has dropped the animation, further steps are ignored.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Set when a step was dropped, from then on steps are ignored and the result is shown at the end.
+         */
+        private volatile boolean overflowed;
+
+        /**
+         * The sorted numbers, set by {@link #finish(int[])}.
+         */
+        private volatile int[] result;
+
+        /**
+         * Set when the sort has reported its last step, after {@link #result}.
+         */
+        private volatile boolean finished;
+
+        private Animation(StepRingBuffer steps, Backpressure backpressure) {
+            this.steps = steps;
+            this.backpressure = backpressure;
+        }
+
+        @Override
+        public boolean playTo(SortListener target, int maxMoves) {
+            boolean wasFinished = finished;
+            steps.drainTo(target, maxMoves);
+            return wasFinished && steps.size() == 0;
+        }
+
+        @Override
+        public void complete(NumbersModel model) {
+            if (overflowed) {
+                model.writeAll(result);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void onSwap(int i, int j) {
+            add(StepRingBuffer.swap(i, j));
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            add(StepRingBuffer.write(index, value));
+        }
+
+        private void add(long step) {
+            if (cancelled || overflowed) {
+                return;
+            }
+            if (backpressure == Backpressure.BLOCK) {
+                steps.put(step, () -> cancelled);
+            } else if (!steps.offer(step)) {
+                overflowed = true;
+            }
+        }
+
+        /**
+         * Checks whether intermediate states were dropped because the buffer overflowed.
+         *
+         * @return true if the animation jumps to the result after the buffered steps
+         */
+        boolean isOverflowed() {
+            return overflowed;
+        }
+
+        /**
+         * Marks the end of the sort, the animation finishes once every buffered step has been played.
+         *
+         * @param sorted the sorted numbers, shown at the end if intermediate states were dropped
+         */
+        void finish(int[] sorted) {
+            result = sorted;
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+/**
+ * Playback speeds offered by the UI, from one step per second to thousands of steps per frame.
+ */
+@Getter
+enum AnimationSpeed {
+
+    ONE_PER_SECOND("1 step/s", 1000, 1),
+    TEN_PER_SECOND("10 steps/s", 100, 1),
+    ONE_PER_FRAME("1 step/frame", AnimationScheduler.FRAME_DELAY, 1),
+    TEN_PER_FRAME("10 steps/frame", AnimationScheduler.FRAME_DELAY, 10),
+    HUNDRED_PER_FRAME("100 steps/frame", AnimationScheduler.FRAME_DELAY, 100),
+    THOUSAND_PER_FRAME("1000 steps/frame", AnimationScheduler.FRAME_DELAY, 1000),
+    TEN_THOUSAND_PER_FRAME("10000 steps/frame", AnimationScheduler.FRAME_DELAY, 10_000);
+
+    /**
+     * Name of the speed, shown in the UI.
+     */
+    private final String label;
+
+    /**
+     * Delay between two frames in milliseconds.
+     */
+    private final int frameDelay;
+
+    /**
+     * Number of sort steps applied per frame.
+     */
+    private final int stepsPerFrame;
+
+    AnimationSpeed(String label, int frameDelay, int stepsPerFrame) {
+        this.label = label;
+        this.frameDelay = frameDelay;
+        this.stepsPerFrame = stepsPerFrame;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,18 @@
+package com.inlarin.testswingapp;
+
+/**
+ * What the sorting thread does when the animation cannot keep up and the step buffer is full.
+ */
+enum Backpressure {
+
+    /**
+     * The sort waits until the animation has played enough steps, so every intermediate state is shown.
+     */
+    BLOCK,
+
+    /**
+     * The sort runs on at full speed and the remaining intermediate states are dropped:
+     * once the buffer overflows, the animation plays what was buffered and then jumps to the sorted numbers.
+     */
+    DROP
+}
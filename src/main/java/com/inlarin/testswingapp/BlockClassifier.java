@@ -0,0 +1,51 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Compares a block of {@link PartitionScheme#BLOCK_SIZE} consecutive elements against the pivot at once.
+ * Bit {@code k} of the returned mask describes the element at {@code from + k}.
+ */
+interface BlockClassifier {
+
+    /**
+     * Classifier without data-dependent branches: each comparison is turned into a bit by sign-bit arithmetic.
+     */
+    BlockClassifier SCALAR = new BlockClassifier() {
+        @Override
+        public long greater(int[] arr, int from, int pivot) {
+            long mask = 0;
+            for (int k = 0; k < PartitionScheme.BLOCK_SIZE; k++) {
+                mask |= (((long) pivot - arr[from + k]) >>> 63) << k;
+            }
+            return mask;
+        }
+
+        @Override
+        public long less(int[] arr, int from, int pivot) {
+            long mask = 0;
+            for (int k = 0; k < PartitionScheme.BLOCK_SIZE; k++) {
+                mask |= (((long) arr[from + k] - pivot) >>> 63) << k;
+            }
+            return mask;
+        }
+    };
+
+    /**
+     * Marks the elements of the block that are greater than the pivot.
+     *
+     * @param arr   the array holding the block
+     * @param from  the first index of the block
+     * @param pivot the pivot value
+     * @return the mask of elements greater than the pivot
+     */
+    long greater(int[] arr, int from, int pivot);
+
+    /**
+     * Marks the elements of the block that are less than the pivot.
+     *
+     * @param arr   the array holding the block
+     * @param from  the first index of the block
+     * @param pivot the pivot value
+     * @return the mask of elements less than the pivot
+     */
+    long less(int[] arr, int from, int pivot);
+}
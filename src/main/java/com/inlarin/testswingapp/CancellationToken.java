@@ -0,0 +1,80 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Flag that asks a running sort to stop. Sorts poll it at every {@link SortListener#onPartition(int, int)},
+ * so a cancelled sort stops within one partition, merge or pass and releases its thread,
+ * instead of relying on thread interruption, which the sorting loops never look at.
+ */
+final class CancellationToken {
+
+    /**
+     * Set once the sort should stop.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Asks the sort to stop. Safe to call from any thread, more than once.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the sort was asked to stop.
+     *
+     * @return true after {@link #cancel()}
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the calling sort if it was asked to.
+     *
+     * @throws SortCancelledException if the token was cancelled
+     */
+    void throwIfCancelled() {
+        if (cancelled) {
+            throw new SortCancelledException();
+        }
+    }
+
+    /**
+     * Wraps the listener so that the sort stops at the next range once the token is cancelled.
+     * The guard observes steps only if the listener does, so guarding {@link SortListener#NONE} keeps
+     * the unobserved fast paths of the sorts, and it may be called from several threads at once.
+     *
+     * @param listener the listener notified about every step of the sort
+     * @return a listener forwarding every step, which throws {@link SortCancelledException} when a range starts
+     * after cancellation
+     */
+    SortListener guard(SortListener listener) {
+        return new SortListener() {
+            @Override
+            public boolean observesSteps() {
+                return listener.observesSteps();
+            }
+
+            @Override
+            public void onCompare(int i, int j) {
+                listener.onCompare(i, j);
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                listener.onSwap(i, j);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                listener.onWrite(index, value);
+            }
+
+            @Override
+            public void onPartition(int low, int high) {
+                throwIfCancelled();
+                listener.onPartition(low, high);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Display state of a single number, used by views to highlight the elements a sort is working on.
+ */
+enum CellState {
+
+    /**
+     * The number is not involved in the current step.
+     */
+    NORMAL,
+
+    /**
+     * The number is the first element of a swap.
+     */
+    SWAP_FIRST,
+
+    /**
+     * The number is the second element of a swap.
+     */
+    SWAP_SECOND,
+
+    /**
+     * The number is swapped with itself, so it stays in place.
+     */
+    SWAP_SELF,
+
+    /**
+     * The number is being overwritten.
+     */
+    WRITE
+}
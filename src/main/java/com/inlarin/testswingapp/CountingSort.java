@@ -0,0 +1,113 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * Counting sort for arrays whose values lie in a narrow range, such as the generated 1..1000 numbers.
+ * It runs in O(n + k), where k is the distance between the observed minimum and maximum.
+ * When the observed range is too wide for a count table, the array is sorted with {@link RadixSort} instead.
+ */
+final class CountingSort implements SortAlgorithm {
+
+    /**
+     * Widest range that is always sorted by counting, whatever the array size.
+     */
+    static final int COUNTING_RANGE_LIMIT = 1 << 16;
+
+    /**
+     * Fallback for ranges wider than the count table allows.
+     */
+    private final RadixSort radixSort = new RadixSort();
+
+    @Override
+    public String getName() {
+        return "Counting sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        if (arr.length < 2) {
+            return;
+        }
+
+        int min = arr[0];
+        int max = arr[0];
+        for (int value : arr) {
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+        }
+
+        if (fitsCounting(min, max, arr.length)) {
+            countingSort(arr, min, max, descending, listener);
+        } else {
+            radixSort.sort(arr, descending, listener);
+        }
+    }
+
+    /**
+     * Checks whether a count table for the given range is cheap enough compared to the array itself.
+     *
+     * @param min    the smallest value in the array
+     * @param max    the largest value in the array
+     * @param length the length of the array
+     * @return true if counting sort should be used
+     */
+    static boolean fitsCounting(int min, int max, int length) {
+        long range = (long) max - min + 1;
+        return range <= Math.max(COUNTING_RANGE_LIMIT, length);
+    }
+
+    /**
+     * Sorts an array whose values all lie in {@code [min, max]} by counting the occurrences of every value.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param min        the smallest value in the array
+     * @param max        the largest value in the array
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    static void countingSort(int[] arr, int min, int max, boolean descending, SortListener listener) {
+        listener.onPartition(0, arr.length - 1);
+        int[] counts = new int[max - min + 1];
+        for (int value : arr) {
+            counts[value - min]++;
+        }
+
+        int index = 0;
+        if (descending) {
+            for (int offset = counts.length - 1; offset >= 0; offset--) {
+                index = fill(arr, index, min + offset, counts[offset], listener);
+            }
+        } else {
+            for (int offset = 0; offset < counts.length; offset++) {
+                index = fill(arr, index, min + offset, counts[offset], listener);
+            }
+        }
+    }
+
+    /**
+     * Writes the same value into consecutive positions.
+     *
+     * @param arr      the array to write into
+     * @param from     the first position to write
+     * @param value    the value to write
+     * @param count    how many times to write the value
+     * @param listener the listener to notify
+     * @return the position after the last written one
+     */
+    private static int fill(int[] arr, int from, int value, int count, SortListener listener) {
+        int to = from + count;
+        for (int i = from; i < to; i++) {
+            write(arr, i, value, listener);
+        }
+        return to;
+    }
+}
@@ -0,0 +1,51 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event spanning one frame of the {@link AnimationScheduler}: the swaps and writes drained from
+ * the playback and applied to the model, with the model events of the frame. Frames are recorded instead of
+ * the single swaps, and only frames slower than the threshold, so recording costs next to nothing.
+ */
+@Name("com.inlarin.testswingapp.Frame")
+@Label("Animation Frame")
+@Category({"Sort Visualizer", "Animation"})
+@Description("Swaps and writes applied to the numbers in one animation frame")
+@Threshold("1 ms")
+final class FrameEvent extends Event {
+
+    /**
+     * Name of the algorithm whose sort is shown, null before the first sort.
+     */
+    @Label("Algorithm")
+    String algorithm;
+
+    /**
+     * Order the numbers are being or were last sorted into.
+     */
+    @Label("Order")
+    String order;
+
+    /**
+     * Number of numbers in the model.
+     */
+    @Label("Element Count")
+    int count;
+
+    /**
+     * Number of swaps and writes applied in the frame.
+     */
+    @Label("Moves")
+    int moves;
+
+    /**
+     * Whether the frame played the last step.
+     */
+    @Label("Last Frame")
+    boolean done;
+}
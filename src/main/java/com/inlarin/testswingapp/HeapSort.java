@@ -0,0 +1,82 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.swap;
+
+/**
+ * In-place heapsort. Ascending order builds a max-heap, descending order builds a min-heap.
+ */
+final class HeapSort implements SortAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Heapsort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        heapSort(arr, 0, arr.length - 1, descending, listener);
+    }
+
+    /**
+     * Sorts the subarray {@code [low, high]} with heapsort.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    static void heapSort(int[] arr, int low, int high, boolean descending, SortListener listener) {
+        int size = high - low + 1;
+        if (size < 2) {
+            return;
+        }
+
+        listener.onPartition(low, high);
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(arr, low, root, size, descending, listener);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            listener.onPartition(low, low + last);
+            swap(arr, low, low + last, listener);
+            siftDown(arr, low, 0, last, descending, listener);
+        }
+    }
+
+    /**
+     * Moves the element at {@code root} down until the heap property holds again.
+     *
+     * @param arr        the array holding the heap
+     * @param offset     the index of the heap root in the array
+     * @param root       the heap position of the element to sift
+     * @param size       the current heap size
+     * @param descending true for a min-heap, false for a max-heap
+     * @param listener   the listener notified about every step of the sort
+     */
+    private static void siftDown(int[] arr, int offset, int root, int size, boolean descending, SortListener listener) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size) {
+                listener.onCompare(offset + child, offset + child + 1);
+                if (before(arr[offset + child], arr[offset + child + 1], descending)) {
+                    child++;
+                }
+            }
+            listener.onCompare(offset + root, offset + child);
+            if (!before(arr[offset + root], arr[offset + child], descending)) {
+                return;
+            }
+            swap(arr, offset + root, offset + child, listener);
+            root = child;
+        }
+    }
+}
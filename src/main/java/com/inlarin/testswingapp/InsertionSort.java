@@ -0,0 +1,51 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * Stable insertion sort. Quadratic, but the fastest choice for tiny or almost sorted arrays.
+ */
+final class InsertionSort implements SortAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Insertion sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        insertionSort(arr, 0, arr.length - 1, descending, listener);
+    }
+
+    /**
+     * Sorts the subarray {@code [low, high]} with insertion sort.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    static void insertionSort(int[] arr, int low, int high, boolean descending, SortListener listener) {
+        for (int i = low + 1; i <= high; i++) {
+            listener.onPartition(low, i);
+            int value = arr[i];
+            int j = i - 1;
+            while (j >= low) {
+                listener.onCompare(j, j + 1);
+                if (!before(value, arr[j], descending)) {
+                    break;
+                }
+                write(arr, j + 1, arr[j], listener);
+                j--;
+            }
+            write(arr, j + 1, value, listener);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.inlarin.testswingapp;
+
+import java.util.Arrays;
+
+/**
+ * Growable LIFO stack of primitive ints. Unlike {@code Deque<Integer>} it does not box values,
+ * so once it has grown to the needed size, pushing and popping allocate nothing.
+ * Not thread-safe.
+ */
+final class IntStack {
+
+    /**
+     * Initial capacity, enough for the bounds of 32 subranges.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Storage of the stack elements.
+     */
+    private int[] elements = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of elements currently on the stack.
+     */
+    private int size;
+
+    /**
+     * Largest number of elements held since the last {@link #clear()}.
+     */
+    private int peak;
+
+    /**
+     * Pushes a value on top of the stack, growing the storage if needed.
+     *
+     * @param value the value to push
+     */
+    void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+        if (size > peak) {
+            peak = size;
+        }
+    }
+
+    /**
+     * Removes and returns the value on top of the stack.
+     *
+     * @return the value on top of the stack
+     * @throws IllegalStateException if the stack is empty
+     */
+    int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Stack is empty");
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Checks whether the stack is empty.
+     *
+     * @return true if there are no elements on the stack
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements on the stack.
+     *
+     * @return the number of elements
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the largest number of elements held since the last {@link #clear()}.
+     *
+     * @return the high-water mark of the stack
+     */
+    int peak() {
+        return peak;
+    }
+
+    /**
+     * Removes all elements and resets the high-water mark, keeping the grown storage for reuse.
+     */
+    void clear() {
+        size = 0;
+        peak = 0;
+    }
+}
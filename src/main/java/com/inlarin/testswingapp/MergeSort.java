@@ -0,0 +1,77 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * Stable bottom-up merge sort. Each pass merges neighbouring runs of doubling width through a scratch buffer
+ * and writes the merged values back into the array.
+ */
+final class MergeSort implements SortAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Merge sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width <<= 1) {
+            for (int low = 0; low < n - width; low += width << 1) {
+                int middle = low + width;
+                int high = Math.min(middle + width, n);
+                merge(arr, buffer, low, middle, high, descending, listener);
+            }
+        }
+    }
+
+    /**
+     * Merges two neighbouring sorted runs {@code [low, middle)} and {@code [middle, high)}.
+     *
+     * @param arr        the array containing both runs
+     * @param buffer     scratch buffer at least as long as the array
+     * @param low        the starting index of the left run
+     * @param middle     the starting index of the right run
+     * @param high       the index after the end of the right run
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    static void merge(int[] arr, int[] buffer, int low, int middle, int high, boolean descending, SortListener listener) {
+        listener.onPartition(low, high - 1);
+        listener.onCompare(middle - 1, middle);
+        if (!before(arr[middle], arr[middle - 1], descending)) {
+            return;
+        }
+
+        System.arraycopy(arr, low, buffer, low, high - low);
+
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high) {
+            listener.onCompare(i, j);
+            if (before(buffer[j], buffer[i], descending)) {
+                write(arr, k++, buffer[j++], listener);
+            } else {
+                write(arr, k++, buffer[i++], listener);
+            }
+        }
+        while (i < middle) {
+            write(arr, k++, buffer[i++], listener);
+        }
+        while (j < high) {
+            write(arr, k++, buffer[j++], listener);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.swing.JComponent;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+
+/**
+ * Paints the numbers of a {@link NumbersModel} as a column-major grid of cells, filling each column from top to bottom.
+ * Nothing is kept per number: only the cells intersecting the clip are painted, straight from the model,
+ * and clicks are mapped to indices arithmetically, so a million numbers cost no more heap than ten.
+ */
+final class NumbersGrid extends JComponent implements Scrollable, NumbersModelListener {
+
+    /**
+     * The displayed numbers.
+     */
+    @Getter
+    private final NumbersModel model;
+
+    /**
+     * Number of cells in a column.
+     */
+    private final int rows;
+
+    /**
+     * Width of a cell without the gap.
+     */
+    private final int cellWidth;
+
+    /**
+     * Height of a cell without the gaps.
+     */
+    private final int cellHeight;
+
+    /**
+     * Gap to the right of every cell and above and below it.
+     */
+    private final int gap;
+
+    /**
+     * Digits of the number being painted, reused for every cell.
+     */
+    private final char[] digits = new char[11];
+
+    /**
+     * Called with the index of a clicked number.
+     */
+    @Setter
+    private IntConsumer cellClickHandler = index -> {
+    };
+
+    /**
+     * Creates a grid showing the numbers of the model.
+     *
+     * @param model      the displayed numbers
+     * @param rows       the number of cells in a column
+     * @param cellWidth  the width of a cell without the gap
+     * @param cellHeight the height of a cell without the gaps
+     * @param gap        the gap to the right of every cell and above and below it
+     */
+    NumbersGrid(NumbersModel model, int rows, int cellWidth, int cellHeight, int gap) {
+        this.model = model;
+        this.rows = rows;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.gap = gap;
+        setOpaque(true);
+        model.addNumbersModelListener(this);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getPoint());
+                if (index >= 0) {
+                    cellClickHandler.accept(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the number of columns needed for all numbers of the model.
+     *
+     * @return the number of columns
+     */
+    int columns() {
+        return (model.size() + rows - 1) / rows;
+    }
+
+    /**
+     * Returns the index of the number painted at the given point.
+     *
+     * @param point the point in the coordinates of this component
+     * @return the index, or -1 if the point is not on a cell
+     */
+    int indexAt(Point point) {
+        if (point.x < 0 || point.y < 0) {
+            return -1;
+        }
+        int column = point.x / columnWidth();
+        int row = point.y / rowHeight();
+        if (row >= rows || !cellBounds(0, 0).contains(point.x % columnWidth(), point.y % rowHeight())) {
+            return -1;
+        }
+        long index = (long) column * rows + row;
+        return index < model.size() ? (int) index : -1;
+    }
+
+    /**
+     * Returns the area painted for the number at the given index.
+     *
+     * @param index the index
+     * @return the bounds of its cell in the coordinates of this component
+     */
+    Rectangle cellBounds(int index) {
+        return cellBounds(index / rows, index % rows);
+    }
+
+    private Rectangle cellBounds(int column, int row) {
+        return new Rectangle(column * columnWidth(), row * rowHeight() + gap, cellWidth, cellHeight);
+    }
+
+    private int columnWidth() {
+        return cellWidth + gap;
+    }
+
+    private int rowHeight() {
+        return cellHeight + 2 * gap;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension(columns() * columnWidth(), rows * rowHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        RepaintEvent event = new RepaintEvent();
+        event.begin();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int size = model.size();
+        int firstColumn = Math.max(0, clip.x / columnWidth());
+        int lastColumn = Math.min(columns() - 1, (clip.x + clip.width - 1) / columnWidth());
+        int firstRow = Math.max(0, clip.y / rowHeight());
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height - 1) / rowHeight());
+
+        FontMetrics metrics = g.getFontMetrics();
+        int baseline = gap + (cellHeight - metrics.getHeight()) / 2 + metrics.getAscent();
+        int painted = 0;
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            int x = column * columnWidth();
+            for (int row = firstRow; row <= lastRow; row++) {
+                int index = column * rows + row;
+                if (index >= size) {
+                    break;
+                }
+                int y = row * rowHeight();
+                painted++;
+                g.setColor(stateColor(model.getState(index)));
+                g.fillRect(x, y + gap, cellWidth, cellHeight);
+
+                int length = formatDigits(model.get(index));
+                int offset = digits.length - length;
+                g.setColor(Color.WHITE);
+                g.drawChars(digits, offset, length, x + (cellWidth - metrics.charsWidth(digits, offset, length)) / 2, y + baseline);
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = model.getSortAlgorithm();
+            event.order = model.getSortOrder().name();
+            event.count = size;
+            event.cells = painted;
+            event.clipArea = (long) clip.width * clip.height;
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the decimal digits of the value right-aligned into {@link #digits} without allocating a string.
+     *
+     * @param value the value to format
+     * @return the number of characters written
+     */
+    private int formatDigits(int value) {
+        int position = digits.length;
+        long remaining = Math.abs((long) value);
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        return digits.length - position;
+    }
+
+    /**
+     * Returns the background color of a number in the given display state.
+     *
+     * @param state the display state
+     * @return the background color
+     */
+    static Color stateColor(CellState state) {
+        return switch (state) {
+            case SWAP_FIRST -> Color.RED;
+            case SWAP_SECOND, WRITE -> Color.ORANGE;
+            case SWAP_SELF -> Color.GREEN;
+            default -> Color.BLUE;
+        };
+    }
+
+    /**
+     * Repaints the cells of the changed range, or revalidates the whole grid if the numbers were replaced.
+     * Safe to call from any thread, as it only schedules painting.
+     *
+     * @param event the changed range of the model
+     */
+    @Override
+    public void numbersChanged(NumbersModelEvent event) {
+        if (event.getType() == NumbersModelEvent.Type.STRUCTURE) {
+            revalidate();
+            repaint();
+            return;
+        }
+        int firstColumn = event.getFirstIndex() / rows;
+        int lastColumn = event.getLastIndex() / rows;
+        if (firstColumn == lastColumn) {
+            Rectangle bounds = cellBounds(event.getFirstIndex());
+            bounds.add(cellBounds(event.getLastIndex()));
+            repaint(bounds);
+        } else {
+            repaint(firstColumn * columnWidth(), 0, (lastColumn - firstColumn + 1) * columnWidth(), rows * rowHeight());
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? columnWidth() : rowHeight();
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        if (orientation == SwingConstants.HORIZONTAL) {
+            return Math.max(columnWidth(), visibleRect.width - columnWidth());
+        }
+        return Math.max(rowHeight(), visibleRect.height - rowHeight());
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -0,0 +1,294 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.swing.event.EventListenerList;
+import java.util.Arrays;
+
+/**
+ * The numbers shown by the application, held in a primitive array, together with a display state per number.
+ * This is the only copy of the data: sorts read their input from it and report every step back into it,
+ * and views subscribe to it with a {@link NumbersModelListener} instead of keeping their own copy.
+ * The model also remembers the order its numbers are known to be in; replacing the numbers forgets it.
+ * It names the sort it shows as well, so frames and paints can be attributed to it.
+ * Changes made between {@link #beginUpdate()} and {@link #endUpdate()} are coalesced into one event per kind,
+ * covering the range of all changed indices. Not thread-safe, the application changes it on the event dispatch thread.
+ */
+final class NumbersModel {
+
+    /**
+     * Shared state array of an empty model.
+     */
+    private static final byte[] NO_STATES = new byte[0];
+
+    /**
+     * All display states, indexed by ordinal.
+     */
+    private static final CellState[] STATES = CellState.values();
+
+    /**
+     * Registered listeners.
+     */
+    private final EventListenerList listenerList = new EventListenerList();
+
+    /**
+     * The numbers.
+     */
+    private int[] values = new int[0];
+
+    /**
+     * Display state of every number, stored as the ordinal of its {@link CellState}.
+     */
+    private byte[] states = NO_STATES;
+
+    /**
+     * Nesting depth of {@link #beginUpdate()} calls, events are held back while it is positive.
+     */
+    private int updateDepth;
+
+    /**
+     * First index with a held back value change, {@link Integer#MAX_VALUE} if there is none.
+     */
+    private int dirtyValuesFirst = Integer.MAX_VALUE;
+
+    /**
+     * Last index with a held back value change, -1 if there is none.
+     */
+    private int dirtyValuesLast = -1;
+
+    /**
+     * First index with a held back state change, {@link Integer#MAX_VALUE} if there is none.
+     */
+    private int dirtyStatesFirst = Integer.MAX_VALUE;
+
+    /**
+     * Last index with a held back state change, -1 if there is none.
+     */
+    private int dirtyStatesLast = -1;
+
+    /**
+     * Order the numbers are known to be in.
+     */
+    @Getter
+    @Setter
+    private volatile SortOrder knownOrder = SortOrder.UNSORTED;
+
+    /**
+     * Name of the algorithm whose sort the numbers show, null until they are sorted.
+     */
+    @Getter
+    @Setter
+    private String sortAlgorithm;
+
+    /**
+     * Order the numbers are being or were last sorted into, {@link SortOrder#UNSORTED} until they are sorted.
+     */
+    @Getter
+    @Setter
+    private SortOrder sortOrder = SortOrder.UNSORTED;
+
+    /**
+     * Returns the number of numbers.
+     *
+     * @return the size of the model
+     */
+    int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the number at the given index.
+     *
+     * @param index the index
+     * @return the number
+     */
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a copy of all numbers, which can be sorted without touching the model.
+     *
+     * @return a new array holding the numbers
+     */
+    int[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Replaces all numbers, resets every display state and forgets the known order and the shown sort.
+     *
+     * @param numbers the new numbers, copied into the model
+     */
+    void setValues(int[] numbers) {
+        values = numbers.clone();
+        states = numbers.length == 0 ? NO_STATES : new byte[numbers.length];
+        knownOrder = SortOrder.UNSORTED;
+        sortAlgorithm = null;
+        sortOrder = SortOrder.UNSORTED;
+        dirtyValuesFirst = dirtyStatesFirst = Integer.MAX_VALUE;
+        dirtyValuesLast = dirtyStatesLast = -1;
+        fireChanged(0, numbers.length - 1, NumbersModelEvent.Type.STRUCTURE);
+    }
+
+    /**
+     * Writes a number as a step of a running sort, which will set the known order when it completes.
+     *
+     * @param index the index
+     * @param value the new number
+     */
+    void write(int index, int value) {
+        values[index] = value;
+        fireChanged(index, index, NumbersModelEvent.Type.VALUES);
+    }
+
+    /**
+     * Replaces the values of all numbers as a step of a running sort, keeping the states and the known order.
+     *
+     * @param numbers the new numbers, as many as the model holds
+     */
+    void writeAll(int[] numbers) {
+        if (numbers.length != values.length) {
+            throw new IllegalArgumentException("Expected " + values.length + " numbers, got " + numbers.length);
+        }
+        System.arraycopy(numbers, 0, values, 0, numbers.length);
+        if (numbers.length > 0) {
+            fireChanged(0, numbers.length - 1, NumbersModelEvent.Type.VALUES);
+        }
+    }
+
+    /**
+     * Swaps two numbers as a step of a running sort.
+     *
+     * @param i the index of the first number
+     * @param j the index of the second number
+     */
+    void swap(int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+        fireChanged(i, i, NumbersModelEvent.Type.VALUES);
+        if (i != j) {
+            fireChanged(j, j, NumbersModelEvent.Type.VALUES);
+        }
+    }
+
+    /**
+     * Returns the display state of the number at the given index.
+     *
+     * @param index the index
+     * @return the display state
+     */
+    CellState getState(int index) {
+        return STATES[states[index]];
+    }
+
+    /**
+     * Sets the display state of a single number.
+     *
+     * @param index the index
+     * @param state the new display state
+     */
+    void setState(int index, CellState state) {
+        setStates(index, index, state);
+    }
+
+    /**
+     * Sets the display state of every number in the range {@code [firstIndex, lastIndex]}.
+     *
+     * @param firstIndex the first index
+     * @param lastIndex  the last index, inclusive
+     * @param state      the new display state
+     */
+    void setStates(int firstIndex, int lastIndex, CellState state) {
+        Arrays.fill(states, firstIndex, lastIndex + 1, (byte) state.ordinal());
+        fireChanged(firstIndex, lastIndex, NumbersModelEvent.Type.STATES);
+    }
+
+    /**
+     * Starts holding back value and state events until the matching {@link #endUpdate()}.
+     * Calls may be nested, the events are fired when the outermost update ends.
+     */
+    void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends an update started with {@link #beginUpdate()}. When the outermost update ends, fires at most one value event
+     * and one state event, each covering every index changed during the update.
+     */
+    void endUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("No update in progress");
+        }
+        if (--updateDepth > 0) {
+            return;
+        }
+        if (dirtyValuesLast >= 0) {
+            int first = dirtyValuesFirst;
+            int last = dirtyValuesLast;
+            dirtyValuesFirst = Integer.MAX_VALUE;
+            dirtyValuesLast = -1;
+            fireChanged(first, last, NumbersModelEvent.Type.VALUES);
+        }
+        if (dirtyStatesLast >= 0) {
+            int first = dirtyStatesFirst;
+            int last = dirtyStatesLast;
+            dirtyStatesFirst = Integer.MAX_VALUE;
+            dirtyStatesLast = -1;
+            fireChanged(first, last, NumbersModelEvent.Type.STATES);
+        }
+    }
+
+    /**
+     * Registers a listener notified after every change.
+     *
+     * @param listener the listener to add
+     */
+    void addNumbersModelListener(NumbersModelListener listener) {
+        listenerList.add(NumbersModelListener.class, listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     */
+    void removeNumbersModelListener(NumbersModelListener listener) {
+        listenerList.remove(NumbersModelListener.class, listener);
+    }
+
+    /**
+     * Notifies every listener, last registered first, about a change of the range {@code [firstIndex, lastIndex]}.
+     * During an update, value and state changes are only recorded and fired when the update ends.
+     *
+     * @param firstIndex the first changed index
+     * @param lastIndex  the last changed index, inclusive
+     * @param type       the kind of change
+     */
+    void fireChanged(int firstIndex, int lastIndex, NumbersModelEvent.Type type) {
+        if (updateDepth > 0) {
+            if (type == NumbersModelEvent.Type.VALUES) {
+                dirtyValuesFirst = Math.min(dirtyValuesFirst, firstIndex);
+                dirtyValuesLast = Math.max(dirtyValuesLast, lastIndex);
+                return;
+            }
+            if (type == NumbersModelEvent.Type.STATES) {
+                dirtyStatesFirst = Math.min(dirtyStatesFirst, firstIndex);
+                dirtyStatesLast = Math.max(dirtyStatesLast, lastIndex);
+                return;
+            }
+        }
+        Object[] listeners = listenerList.getListenerList();
+        NumbersModelEvent event = null;
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == NumbersModelListener.class) {
+                if (event == null) {
+                    event = new NumbersModelEvent(this, firstIndex, lastIndex, type);
+                }
+                ((NumbersModelListener) listeners[i + 1]).numbersChanged(event);
+            }
+        }
+    }
+}
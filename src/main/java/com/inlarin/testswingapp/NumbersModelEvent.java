@@ -0,0 +1,73 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+import java.util.EventObject;
+
+/**
+ * Describes a change of a {@link NumbersModel} as an inclusive range of indices, like {@code TableModelEvent} does for rows.
+ */
+@Getter
+final class NumbersModelEvent extends EventObject {
+
+    /**
+     * Kinds of changes.
+     */
+    enum Type {
+
+        /**
+         * All numbers were replaced and the size may have changed, the range covers the new numbers.
+         */
+        STRUCTURE,
+
+        /**
+         * Values in the range changed.
+         */
+        VALUES,
+
+        /**
+         * Display states in the range changed, the values are the same.
+         */
+        STATES
+    }
+
+    /**
+     * The first changed index.
+     */
+    private final int firstIndex;
+
+    /**
+     * The last changed index, inclusive.
+     */
+    private final int lastIndex;
+
+    /**
+     * The kind of change.
+     */
+    private final Type type;
+
+    /**
+     * Creates an event for the range {@code [firstIndex, lastIndex]}.
+     *
+     * @param source     the model that changed
+     * @param firstIndex the first changed index
+     * @param lastIndex  the last changed index, inclusive
+     * @param type       the kind of change
+     */
+    NumbersModelEvent(NumbersModel source, int firstIndex, int lastIndex, Type type) {
+        super(source);
+        this.firstIndex = firstIndex;
+        this.lastIndex = lastIndex;
+        this.type = type;
+    }
+
+    @Override
+    public NumbersModel getSource() {
+        return (NumbersModel) super.getSource();
+    }
+
+    @Override
+    public String toString() {
+        return "NumbersModelEvent[" + type + " " + firstIndex + ".." + lastIndex + "]";
+    }
+}
@@ -0,0 +1,16 @@
+package com.inlarin.testswingapp;
+
+import java.util.EventListener;
+
+/**
+ * Receives notifications about changes of a {@link NumbersModel}.
+ */
+interface NumbersModelListener extends EventListener {
+
+    /**
+     * Called after the model has changed, on the thread that changed it.
+     *
+     * @param event the range of indices that changed and the kind of change
+     */
+    void numbersChanged(NumbersModelEvent event);
+}
@@ -0,0 +1,307 @@
+package com.inlarin.testswingapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+
+/**
+ * Fork/join quicksort. Subarrays larger than the threshold are partitioned with a {@link PartitionScheme}
+ * and both sides are sorted as separate {@link RecursiveTask}s; smaller subarrays are sorted sequentially.
+ * Like the sequential introsort, a task that is nested deeper than 2 * log2(n) partitions heapsorts its subarray.
+ * Steps of concurrently running tasks are serialized before they reach the listener.
+ * Splitting only the recursion would leave the top partitions to a single worker and cap the speedup at about log2(n),
+ * so an unobserved sort partitions large subarrays with all workers too, out of place through a buffer
+ * as large as the array.
+ */
+final class ParallelQuickSort implements SortAlgorithm {
+
+    /**
+     * Default size below which subarrays are sorted sequentially.
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    /**
+     * Subarrays at least this large are partitioned by all workers of an unobserved sort.
+     */
+    static final int PARALLEL_PARTITION_THRESHOLD = 1 << 17;
+
+    /**
+     * Smallest block a parallel partition hands to a single worker.
+     */
+    private static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    /**
+     * Number of blocks per worker of a parallel partition, so workers that finish early can take over more blocks.
+     */
+    private static final int BLOCKS_PER_WORKER = 4;
+
+    /**
+     * Pool that runs the sorting tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Size below which subarrays are sorted sequentially.
+     */
+    private final int threshold;
+
+    /**
+     * Scheme used to partition every subarray.
+     */
+    private final PartitionScheme scheme;
+
+    /**
+     * Sequential quicksort for the small subarrays, every worker thread sorting with its own reusable stack.
+     */
+    private final QuickSort sequentialSort;
+
+    /**
+     * Deepest explicit stack of any sequential sort of the last sort.
+     */
+    private int lastStackDepth;
+
+    /**
+     * Creates a parallel quicksort running in the common pool with the default threshold and the Lomuto partition.
+     */
+    ParallelQuickSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, PartitionScheme.LOMUTO);
+    }
+
+    /**
+     * Creates a parallel quicksort.
+     *
+     * @param pool      the pool that runs the sorting tasks
+     * @param threshold the size below which subarrays are sorted sequentially, at least 2
+     * @param scheme    the scheme used to partition every subarray
+     */
+    ParallelQuickSort(ForkJoinPool pool, int threshold, PartitionScheme scheme) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Threshold must be at least 2, got " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.scheme = scheme;
+        this.sequentialSort = new QuickSort(scheme);
+    }
+
+    @Override
+    public String getName() {
+        return scheme == PartitionScheme.LOMUTO ? "Parallel quicksort" : "Parallel quicksort (" + scheme.getLabel() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        if (arr.length < 2) {
+            lastStackDepth = 0;
+            return;
+        }
+        boolean parallelPartition = !listener.observesSteps() && pool.getParallelism() > 1
+                && arr.length >= PARALLEL_PARTITION_THRESHOLD;
+        int[] buffer = parallelPartition ? new int[arr.length] : null;
+        lastStackDepth = pool.invoke(new SortTask(arr, buffer, 0, arr.length - 1, 0, QuickSort.depthLimit(arr.length),
+                descending, scheme.kernel(descending), SortListener.synchronizedListener(listener)));
+    }
+
+    /**
+     * Returns the deepest explicit stack of the sequential sorts of the small subarrays during the last sort.
+     *
+     * @return the largest number of subarrays pending in any worker
+     */
+    @Override
+    public int lastStackDepth() {
+        return lastStackDepth;
+    }
+
+    /**
+     * Partitions the subarray {@code [low, high]} three ways around its ninther with all workers of the pool.
+     * The subarray is cut into blocks, and every block counts its elements before, equal to and after the pivot.
+     * Prefix sums of the counts give every block its place in each of the three groups, every block then copies
+     * its elements to those places in the buffer, and the blocks of the buffer are copied back.
+     * Reports no steps, so it is only used for unobserved sorts. Must be called from a task of the pool.
+     *
+     * @param arr        the array being sorted
+     * @param buffer     scratch space as long as the array, only {@code [low, high]} is used
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @return the packed range of indices holding the pivot value
+     */
+    private long parallelPartition(int[] arr, int[] buffer, int low, int high, boolean descending) {
+        int size = high - low + 1;
+        int pivot = arr[PartitionScheme.selectPivot(arr, low, high, SortListener.NONE)];
+        int blocks = Math.max(2, Math.min(pool.getParallelism() * BLOCKS_PER_WORKER, size / MIN_BLOCK_SIZE));
+        int[] starts = new int[blocks + 1];
+        for (int block = 0; block <= blocks; block++) {
+            starts[block] = low + (int) ((long) size * block / blocks);
+        }
+
+        int[] beforeCounts = new int[blocks];
+        int[] equalCounts = new int[blocks];
+        forEachBlock(blocks, block -> {
+            int beforeCount = 0;
+            int equalCount = 0;
+            for (int i = starts[block]; i < starts[block + 1]; i++) {
+                int value = arr[i];
+                if (before(value, pivot, descending)) {
+                    beforeCount++;
+                } else if (value == pivot) {
+                    equalCount++;
+                }
+            }
+            beforeCounts[block] = beforeCount;
+            equalCounts[block] = equalCount;
+        });
+
+        int totalBefore = 0;
+        int totalEqual = 0;
+        for (int block = 0; block < blocks; block++) {
+            totalBefore += beforeCounts[block];
+            totalEqual += equalCounts[block];
+        }
+        int[] beforeAt = new int[blocks];
+        int[] equalAt = new int[blocks];
+        int[] afterAt = new int[blocks];
+        int nextBefore = low;
+        int nextEqual = low + totalBefore;
+        int nextAfter = nextEqual + totalEqual;
+        for (int block = 0; block < blocks; block++) {
+            beforeAt[block] = nextBefore;
+            equalAt[block] = nextEqual;
+            afterAt[block] = nextAfter;
+            nextBefore += beforeCounts[block];
+            nextEqual += equalCounts[block];
+            nextAfter += starts[block + 1] - starts[block] - beforeCounts[block] - equalCounts[block];
+        }
+
+        forEachBlock(blocks, block -> {
+            int beforeIndex = beforeAt[block];
+            int equalIndex = equalAt[block];
+            int afterIndex = afterAt[block];
+            for (int i = starts[block]; i < starts[block + 1]; i++) {
+                int value = arr[i];
+                if (before(value, pivot, descending)) {
+                    buffer[beforeIndex++] = value;
+                } else if (value == pivot) {
+                    buffer[equalIndex++] = value;
+                } else {
+                    buffer[afterIndex++] = value;
+                }
+            }
+        });
+        forEachBlock(blocks, block ->
+                System.arraycopy(buffer, starts[block], arr, starts[block], starts[block + 1] - starts[block]));
+
+        return PartitionScheme.range(low + totalBefore, low + totalBefore + totalEqual - 1);
+    }
+
+    /**
+     * Runs the action for every block as a separate task and waits for all of them.
+     *
+     * @param blocks the number of blocks
+     * @param action called with the index of every block
+     */
+    private static void forEachBlock(int blocks, IntConsumer action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block++) {
+            int index = block;
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Task that sorts the subarray {@code [low, high]} and returns the deepest explicit stack of its sequential sorts.
+     */
+    private final class SortTask extends RecursiveTask<Integer> {
+
+        /**
+         * The array being sorted.
+         */
+        private final int[] arr;
+
+        /**
+         * Scratch space of the parallel partition, null if the sort is partitioned by single workers only.
+         */
+        private final int[] buffer;
+
+        /**
+         * The starting index of the subarray.
+         */
+        private final int low;
+
+        /**
+         * The ending index of the subarray.
+         */
+        private final int high;
+
+        /**
+         * Number of partitions above this subarray.
+         */
+        private final int depth;
+
+        /**
+         * Depth after which the subarray is heapsorted instead of partitioned.
+         */
+        private final int depthLimit;
+
+        /**
+         * True to sort in descending order, false for ascending order.
+         */
+        private final boolean descending;
+
+        /**
+         * Partition kernel for the sorting order, chosen once per sort.
+         */
+        private final PartitionKernel kernel;
+
+        /**
+         * The listener notified about every step of the sort.
+         */
+        private final SortListener listener;
+
+        SortTask(int[] arr, int[] buffer, int low, int high, int depth, int depthLimit, boolean descending,
+                 PartitionKernel kernel, SortListener listener) {
+            this.arr = arr;
+            this.buffer = buffer;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.depthLimit = depthLimit;
+            this.descending = descending;
+            this.kernel = kernel;
+            this.listener = listener;
+        }
+
+        @Override
+        protected Integer compute() {
+            listener.onPartition(low, high);
+            if (high - low + 1 <= threshold) {
+                return sequentialSort.sortRange(arr, low, high, descending, listener);
+            }
+            if (depth > depthLimit) {
+                HeapSort.heapSort(arr, low, high, descending, listener);
+                return 0;
+            }
+
+            long pivotRange = buffer != null && high - low + 1 >= PARALLEL_PARTITION_THRESHOLD
+                    ? parallelPartition(arr, buffer, low, high, descending)
+                    : kernel.partition(arr, low, high, listener);
+            SortTask left = new SortTask(arr, buffer, low, PartitionScheme.lower(pivotRange) - 1, depth + 1, depthLimit,
+                    descending, kernel, listener);
+            SortTask right = new SortTask(arr, buffer, PartitionScheme.upper(pivotRange) + 1, high, depth + 1,
+                    depthLimit, descending, kernel, listener);
+            invokeAll(left, right);
+            return Math.max(left.join(), right.join());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning a batch of consecutive partitions, merges or passes of an observed sort.
+ * A single event per range would flood the recording, so up to {@link SortStats#PARTITION_BATCH} ranges
+ * share one event.
+ */
+@Name("com.inlarin.testswingapp.PartitionBatch")
+@Label("Partition Batch")
+@Category({"Sort Visualizer", "Sort"})
+@Description("Consecutive partitions, merges or passes of a sort")
+final class PartitionBatchEvent extends Event {
+
+    /**
+     * Name of the algorithm.
+     */
+    @Label("Algorithm")
+    String algorithm;
+
+    /**
+     * Order the numbers are sorted into.
+     */
+    @Label("Order")
+    String order;
+
+    /**
+     * Number of elements of the sorted array.
+     */
+    @Label("Element Count")
+    int count;
+
+    /**
+     * Number of ranges in the batch.
+     */
+    @Label("Partitions")
+    int partitions;
+
+    /**
+     * Total length of the ranges in the batch.
+     */
+    @Label("Range Elements")
+    long elements;
+}
@@ -0,0 +1,20 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Partition loop specialised for one sorting order, see {@link PartitionScheme#kernel(boolean)}.
+ * Kernels that also sort small subarrays themselves implement {@link SmallSortKernel}.
+ */
+@FunctionalInterface
+interface PartitionKernel {
+
+    /**
+     * Partitions the subarray {@code [low, high]}, which must hold at least two elements.
+     *
+     * @param arr      the array to partition
+     * @param low      the starting index of the subarray
+     * @param high     the ending index of the subarray
+     * @param listener the listener notified about every step of the sort
+     * @return the packed range of indices holding the pivot value, see {@link PartitionScheme#range(int, int)}
+     */
+    long partition(int[] arr, int low, int high, SortListener listener);
+}
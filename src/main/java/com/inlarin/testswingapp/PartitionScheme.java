@@ -0,0 +1,383 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.swap;
+
+/**
+ * Ways to partition a subarray around a pivot for {@link QuickSort}.
+ * Every scheme returns the range of indices that hold elements equal to the pivot and are already in their final place,
+ * packed into a long, see {@link #lower(long)} and {@link #upper(long)}.
+ */
+enum PartitionScheme {
+
+    /**
+     * Lomuto partition: a single scan that moves every element not after the pivot to the front.
+     * Places exactly one pivot per pass, so elements equal to the pivot are swapped again in later passes.
+     */
+    LOMUTO("Lomuto", PartitionScheme::lomutoAscending, PartitionScheme::lomutoDescending),
+
+    /**
+     * Three-way (Dutch national flag) partition: groups all elements equal to the pivot in the middle,
+     * so they are excluded from every later pass. Best for duplicate-heavy data such as the generated 1..1000 numbers.
+     */
+    THREE_WAY("3-way", PartitionScheme::threeWayAscending, PartitionScheme::threeWayDescending),
+
+    /**
+     * Block partition in the style of BlockQuicksort (Edelkamp and Weiss): elements are classified against the pivot
+     * a block at a time into bit masks without data-dependent branches, and the misplaced ones are then swapped pairwise.
+     * Avoids the branch mispredictions the other schemes suffer on random data.
+     */
+    BLOCK("block", PartitionScheme::blockAscending, PartitionScheme::blockDescending),
+
+    /**
+     * Block partition whose blocks are classified with SIMD compares of the incubating Vector API,
+     * with small subarrays finished by a SIMD rank sort. Requires a build with the {@code vector} profile,
+     * {@code --add-modules jdk.incubator.vector} and {@code -Dsort.vector=true}; otherwise it is the same as {@link #BLOCK}.
+     */
+    VECTOR("vector",
+            VectorSupport.isEnabled() ? VectorSupport.kernel(false) : PartitionScheme::blockAscending,
+            VectorSupport.isEnabled() ? VectorSupport.kernel(true) : PartitionScheme::blockDescending);
+
+    /**
+     * Subarrays larger than this use the ninther instead of the median of three as the pivot.
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Number of elements classified at once by the block partition, one bit per element of a long mask.
+     */
+    static final int BLOCK_SIZE = Long.SIZE;
+
+    /**
+     * Short name of the scheme, shown in the UI.
+     */
+    @Getter
+    private final String label;
+
+    /**
+     * Kernel for ascending order.
+     */
+    private final PartitionKernel ascending;
+
+    /**
+     * Kernel for descending order.
+     */
+    private final PartitionKernel descending;
+
+    PartitionScheme(String label, PartitionKernel ascending, PartitionKernel descending) {
+        this.label = label;
+        this.ascending = ascending;
+        this.descending = descending;
+    }
+
+    /**
+     * Returns the kernel specialised for the given order. Sorts pick the kernel once per request,
+     * so the inner comparison loop never checks the order again.
+     *
+     * @param descending true for descending order, false for ascending order
+     * @return the partition kernel
+     */
+    PartitionKernel kernel(boolean descending) {
+        return descending ? this.descending : this.ascending;
+    }
+
+    /**
+     * Partitions the subarray {@code [low, high]}, which must hold at least two elements.
+     * Convenience for a single call, loops should keep the result of {@link #kernel(boolean)} instead.
+     *
+     * @param arr        the array to partition
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @return the packed range of indices holding the pivot value
+     */
+    long partition(int[] arr, int low, int high, boolean descending, SortListener listener) {
+        return kernel(descending).partition(arr, low, high, listener);
+    }
+
+    /**
+     * Lomuto partition for ascending order.
+     */
+    private static long lomutoAscending(int[] arr, int low, int high, SortListener listener) {
+        int middle = selectPivot(arr, low, high, listener);
+        int pivot = arr[middle];
+
+        swap(arr, middle, high, listener);
+
+        int i = low;
+        for (int j = low; j < high; j++) {
+            listener.onCompare(j, high);
+            if (arr[j] <= pivot) {
+                swap(arr, i, j, listener);
+                i++;
+            }
+        }
+
+        swap(arr, i, high, listener);
+
+        return range(i, i);
+    }
+
+    /**
+     * Lomuto partition for descending order.
+     */
+    private static long lomutoDescending(int[] arr, int low, int high, SortListener listener) {
+        int middle = selectPivot(arr, low, high, listener);
+        int pivot = arr[middle];
+
+        swap(arr, middle, high, listener);
+
+        int i = low;
+        for (int j = low; j < high; j++) {
+            listener.onCompare(j, high);
+            if (arr[j] >= pivot) {
+                swap(arr, i, j, listener);
+                i++;
+            }
+        }
+
+        swap(arr, i, high, listener);
+
+        return range(i, i);
+    }
+
+    /**
+     * Three-way partition for ascending order.
+     */
+    private static long threeWayAscending(int[] arr, int low, int high, SortListener listener) {
+        int middle = selectPivot(arr, low, high, listener);
+        int pivot = arr[middle];
+
+        swap(arr, middle, low, listener);
+
+        int lt = low;
+        int i = low + 1;
+        int gt = high;
+        while (i <= gt) {
+            listener.onCompare(i, lt);
+            int value = arr[i];
+            if (value < pivot) {
+                swap(arr, lt++, i++, listener);
+            } else if (value > pivot) {
+                swap(arr, i, gt--, listener);
+            } else {
+                i++;
+            }
+        }
+
+        return range(lt, gt);
+    }
+
+    /**
+     * Three-way partition for descending order.
+     */
+    private static long threeWayDescending(int[] arr, int low, int high, SortListener listener) {
+        int middle = selectPivot(arr, low, high, listener);
+        int pivot = arr[middle];
+
+        swap(arr, middle, low, listener);
+
+        int lt = low;
+        int i = low + 1;
+        int gt = high;
+        while (i <= gt) {
+            listener.onCompare(i, lt);
+            int value = arr[i];
+            if (value > pivot) {
+                swap(arr, lt++, i++, listener);
+            } else if (value < pivot) {
+                swap(arr, i, gt--, listener);
+            } else {
+                i++;
+            }
+        }
+
+        return range(lt, gt);
+    }
+
+    /**
+     * Block partition for ascending order.
+     */
+    private static long blockAscending(int[] arr, int low, int high, SortListener listener) {
+        return blockPartition(arr, low, high, false, BlockClassifier.SCALAR, listener);
+    }
+
+    /**
+     * Block partition for descending order.
+     */
+    private static long blockDescending(int[] arr, int low, int high, SortListener listener) {
+        return blockPartition(arr, low, high, true, BlockClassifier.SCALAR, listener);
+    }
+
+    /**
+     * Block partition shared by the scalar and the vector kernels.
+     * The left block marks elements that go after the pivot, the right block marks elements that go before it,
+     * so elements equal to the pivot stay on both sides and duplicates still split evenly.
+     * The subarray left when fewer than a block of elements remain is finished with a plain Hoare scan.
+     *
+     * @param arr        the array to partition
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @param classifier compares a block of elements against the pivot
+     * @param listener   the listener notified about every step of the sort
+     * @return the packed range of indices holding the pivot value
+     */
+    static long blockPartition(int[] arr, int low, int high, boolean descending, BlockClassifier classifier,
+                               SortListener listener) {
+        int middle = selectPivot(arr, low, high, listener);
+        swap(arr, middle, low, listener);
+        int pivot = arr[low];
+
+        int first = low + 1;
+        int last = high;
+        int leftBase = first;
+        int rightBase = last;
+        long leftMask = 0;
+        long rightMask = 0;
+        while (last - first + 1 >= (leftMask == 0 ? BLOCK_SIZE : 0) + (rightMask == 0 ? BLOCK_SIZE : 0)) {
+            if (leftMask == 0) {
+                leftBase = first;
+                leftMask = descending ? classifier.less(arr, first, pivot) : classifier.greater(arr, first, pivot);
+                reportBlock(first, low, listener);
+                first += BLOCK_SIZE;
+            }
+            if (rightMask == 0) {
+                rightBase = last;
+                int from = last - BLOCK_SIZE + 1;
+                rightMask = Long.reverse(descending ? classifier.greater(arr, from, pivot) : classifier.less(arr, from, pivot));
+                reportBlock(from, low, listener);
+                last -= BLOCK_SIZE;
+            }
+            while (leftMask != 0 && rightMask != 0) {
+                swap(arr, leftBase + Long.numberOfTrailingZeros(leftMask), rightBase - Long.numberOfTrailingZeros(rightMask), listener);
+                leftMask &= leftMask - 1;
+                rightMask &= rightMask - 1;
+            }
+        }
+
+        int i = leftMask != 0 ? leftBase : first;
+        int j = rightMask != 0 ? rightBase : last;
+        while (true) {
+            while (i <= j && !before(pivot, arr[i], descending)) {
+                listener.onCompare(i, low);
+                i++;
+            }
+            while (i <= j && !before(arr[j], pivot, descending)) {
+                listener.onCompare(j, low);
+                j--;
+            }
+            if (i > j) {
+                break;
+            }
+            swap(arr, i++, j--, listener);
+        }
+
+        swap(arr, low, j, listener);
+
+        return range(j, j);
+    }
+
+    /**
+     * Reports the comparisons of a classified block against the pivot.
+     *
+     * @param from       the first index of the block
+     * @param pivotIndex the index holding the pivot
+     * @param listener   the listener to notify
+     */
+    private static void reportBlock(int from, int pivotIndex, SortListener listener) {
+        if (listener.observesSteps()) {
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                listener.onCompare(from + i, pivotIndex);
+            }
+        }
+    }
+
+    /**
+     * Packs the range of pivot indices into a long, so partitioning allocates nothing.
+     *
+     * @param lower the first index holding the pivot value
+     * @param upper the last index holding the pivot value
+     * @return the packed range
+     */
+    static long range(int lower, int upper) {
+        return ((long) lower << 32) | (upper & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the first index of a packed pivot range.
+     *
+     * @param range the packed range
+     * @return the first index holding the pivot value
+     */
+    static int lower(long range) {
+        return (int) (range >>> 32);
+    }
+
+    /**
+     * Extracts the last index of a packed pivot range.
+     *
+     * @param range the packed range
+     * @return the last index holding the pivot value
+     */
+    static int upper(long range) {
+        return (int) range;
+    }
+
+    /**
+     * Chooses the pivot index: the middle element for tiny subarrays, the median of the first, middle and last
+     * elements for small ones and Tukey's ninther (median of three medians of three) for larger ones.
+     *
+     * @param arr      the array to partition
+     * @param low      the starting index of the subarray
+     * @param high     the ending index of the subarray
+     * @param listener the listener notified about every comparison
+     * @return the index of the pivot element
+     */
+    static int selectPivot(int[] arr, int low, int high, SortListener listener) {
+        int size = high - low + 1;
+        int middle = low + (high - low) / 2;
+        if (size > NINTHER_THRESHOLD) {
+            int step = size / 8;
+            int first = medianOfThree(arr, low, low + step, low + 2 * step, listener);
+            int second = medianOfThree(arr, middle - step, middle, middle + step, listener);
+            int third = medianOfThree(arr, high - 2 * step, high - step, high, listener);
+            return medianOfThree(arr, first, second, third, listener);
+        }
+        if (size >= 3) {
+            return medianOfThree(arr, low, middle, high, listener);
+        }
+        return middle;
+    }
+
+    /**
+     * Returns the index of the median of three elements.
+     *
+     * @param arr      the array holding the elements
+     * @param a        the index of the first element
+     * @param b        the index of the second element
+     * @param c        the index of the third element
+     * @param listener the listener notified about every comparison
+     * @return one of {@code a}, {@code b} and {@code c}
+     */
+    private static int medianOfThree(int[] arr, int a, int b, int c, SortListener listener) {
+        listener.onCompare(a, b);
+        if (arr[a] < arr[b]) {
+            listener.onCompare(b, c);
+            if (arr[b] < arr[c]) {
+                return b;
+            }
+            listener.onCompare(a, c);
+            return arr[a] < arr[c] ? c : a;
+        }
+        listener.onCompare(b, c);
+        if (arr[b] > arr[c]) {
+            return b;
+        }
+        listener.onCompare(a, c);
+        return arr[a] > arr[c] ? c : a;
+    }
+}
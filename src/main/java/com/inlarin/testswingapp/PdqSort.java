@@ -0,0 +1,358 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.reverse;
+import static com.inlarin.testswingapp.SortAlgorithms.swap;
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * Pattern-defeating quicksort (pdqsort, Orson Peters) over half-open subarrays {@code [begin, end)}.
+ * On top of an introsort it uses insertion sort for small subarrays, detects partitions that needed no swaps
+ * and finishes them with a bounded insertion sort, shuffles elements after highly unbalanced partitions
+ * to break adversarial patterns and falls back to heapsort after too many of them.
+ * Additionally every subarray that is already monotone is finished in a single pass: a sorted one is left as is
+ * and a reverse-sorted one is reversed, so sorting the previous result in the other order takes O(n).
+ * The sort keeps per-sort state in fields, so an instance must not be shared between concurrently running sorts.
+ */
+final class PdqSort implements SortAlgorithm {
+
+    /**
+     * Subarrays smaller than this are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /**
+     * Subarrays larger than this use the ninther as the pivot.
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Number of element moves after which the partial insertion sort gives up.
+     */
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+    /**
+     * The array being sorted, only set while a sort is running.
+     */
+    private int[] arr;
+
+    /**
+     * True to sort in descending order, false for ascending order.
+     */
+    private boolean descending;
+
+    /**
+     * The listener notified about every step of the sort.
+     */
+    private SortListener listener;
+
+    @Override
+    public String getName() {
+        return "Pdqsort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        if (arr.length < 2) {
+            return;
+        }
+        this.arr = arr;
+        this.descending = descending;
+        this.listener = listener;
+        try {
+            pdqSortLoop(0, arr.length, 31 - Integer.numberOfLeadingZeros(arr.length), true);
+        } finally {
+            this.arr = null;
+            this.listener = null;
+        }
+    }
+
+    /**
+     * Sorts {@code [begin, end)}, recursing into the smaller side of every partition and looping on the larger one.
+     *
+     * @param begin      the first index of the subarray
+     * @param end        the index after the last element of the subarray
+     * @param badAllowed how many more highly unbalanced partitions are tolerated before switching to heapsort
+     * @param leftmost   true if the subarray starts the array, otherwise {@code arr[begin - 1]} is not after any element
+     */
+    private void pdqSortLoop(int begin, int end, int badAllowed, boolean leftmost) {
+        while (true) {
+            listener.onPartition(begin, end - 1);
+            int size = end - begin;
+            if (size < INSERTION_SORT_THRESHOLD) {
+                InsertionSort.insertionSort(arr, begin, end - 1, descending, listener);
+                return;
+            }
+            if (finishMonotone(begin, end)) {
+                return;
+            }
+
+            int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(begin, begin + half, end - 1);
+                sort3(begin + 1, begin + half - 1, end - 2);
+                sort3(begin + 2, begin + half + 1, end - 3);
+                sort3(begin + half - 1, begin + half, begin + half + 1);
+                swap(arr, begin, begin + half, listener);
+            } else {
+                sort3(begin + half, begin, end - 1);
+            }
+
+            // If the previous element is not before the pivot, the subarray holds no element before it,
+            // so every element equal to the pivot goes left and that side needs no further sorting.
+            if (!leftmost && !comp(begin - 1, begin)) {
+                begin = partitionLeft(begin, end) + 1;
+                continue;
+            }
+
+            long result = partitionRight(begin, end);
+            int pivotPos = (int) (result >>> 1);
+            boolean alreadyPartitioned = (result & 1) != 0;
+
+            int leftSize = pivotPos - begin;
+            int rightSize = end - (pivotPos + 1);
+            boolean highlyUnbalanced = leftSize < size / 8 || rightSize < size / 8;
+
+            if (highlyUnbalanced) {
+                if (--badAllowed == 0) {
+                    HeapSort.heapSort(arr, begin, end - 1, descending, listener);
+                    return;
+                }
+                if (leftSize >= INSERTION_SORT_THRESHOLD) {
+                    swap(arr, begin, begin + leftSize / 4, listener);
+                    swap(arr, pivotPos - 1, pivotPos - leftSize / 4, listener);
+                    if (leftSize > NINTHER_THRESHOLD) {
+                        swap(arr, begin + 1, begin + (leftSize / 4 + 1), listener);
+                        swap(arr, begin + 2, begin + (leftSize / 4 + 2), listener);
+                        swap(arr, pivotPos - 2, pivotPos - (leftSize / 4 + 1), listener);
+                        swap(arr, pivotPos - 3, pivotPos - (leftSize / 4 + 2), listener);
+                    }
+                }
+                if (rightSize >= INSERTION_SORT_THRESHOLD) {
+                    swap(arr, pivotPos + 1, pivotPos + (1 + rightSize / 4), listener);
+                    swap(arr, end - 1, end - rightSize / 4, listener);
+                    if (rightSize > NINTHER_THRESHOLD) {
+                        swap(arr, pivotPos + 2, pivotPos + (2 + rightSize / 4), listener);
+                        swap(arr, pivotPos + 3, pivotPos + (3 + rightSize / 4), listener);
+                        swap(arr, end - 2, end - (1 + rightSize / 4), listener);
+                        swap(arr, end - 3, end - (2 + rightSize / 4), listener);
+                    }
+                }
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(begin, pivotPos)
+                    && partialInsertionSort(pivotPos + 1, end)) {
+                return;
+            }
+
+            if (leftSize < rightSize) {
+                pdqSortLoop(begin, pivotPos, badAllowed, leftmost);
+                begin = pivotPos + 1;
+                leftmost = false;
+            } else {
+                pdqSortLoop(pivotPos + 1, end, badAllowed, false);
+                end = pivotPos;
+            }
+        }
+    }
+
+    /**
+     * Finishes the subarray if it is monotone: leaves it alone when sorted and reverses it when sorted the other way.
+     * Stops at the first element that breaks the run, so on unsorted data it costs only a few comparisons.
+     *
+     * @param begin the first index of the subarray
+     * @param end   the index after the last element of the subarray
+     * @return true if the subarray is now sorted
+     */
+    private boolean finishMonotone(int begin, int end) {
+        int i = begin + 1;
+        while (i < end && arr[i] == arr[i - 1]) {
+            listener.onCompare(i - 1, i);
+            i++;
+        }
+        if (i == end) {
+            return true;
+        }
+
+        listener.onCompare(i - 1, i);
+        boolean reversed = comp(i, i - 1);
+        for (i++; i < end; i++) {
+            listener.onCompare(i - 1, i);
+            boolean outOfOrder = reversed ? before(arr[i - 1], arr[i], descending) : before(arr[i], arr[i - 1], descending);
+            if (outOfOrder) {
+                return false;
+            }
+        }
+
+        if (reversed) {
+            reverse(arr, begin, end - 1, listener);
+        }
+        return true;
+    }
+
+    /**
+     * Partitions {@code [begin, end)} around the pivot at {@code begin}, elements equal to the pivot go right.
+     *
+     * @param begin the first index of the subarray, holding the pivot
+     * @param end   the index after the last element of the subarray
+     * @return the final pivot position shifted left by one, with the lowest bit set if no swaps were needed
+     */
+    private long partitionRight(int begin, int end) {
+        int pivot = arr[begin];
+        int first = begin;
+        int last = end;
+
+        while (compPivot(++first, pivot, begin)) {
+            // skip elements already on the correct side
+        }
+        if (first - 1 == begin) {
+            while (first < last && !compPivot(--last, pivot, begin)) {
+                // guarded: there may be no element before the pivot
+            }
+        } else {
+            while (!compPivot(--last, pivot, begin)) {
+                // the element at first - 1 stops the scan
+            }
+        }
+
+        boolean alreadyPartitioned = first >= last;
+        while (first < last) {
+            swap(arr, first, last, listener);
+            while (compPivot(++first, pivot, begin)) {
+                // skip elements already on the correct side
+            }
+            while (!compPivot(--last, pivot, begin)) {
+                // skip elements already on the correct side
+            }
+        }
+
+        int pivotPos = first - 1;
+        swap(arr, begin, pivotPos, listener);
+        return ((long) pivotPos << 1) | (alreadyPartitioned ? 1 : 0);
+    }
+
+    /**
+     * Partitions {@code [begin, end)} around the pivot at {@code begin}, elements equal to the pivot go left.
+     * Used when no element of the subarray goes before the pivot, so the left side ends up all equal.
+     *
+     * @param begin the first index of the subarray, holding the pivot
+     * @param end   the index after the last element of the subarray
+     * @return the final pivot position
+     */
+    private int partitionLeft(int begin, int end) {
+        int pivot = arr[begin];
+        int first = begin;
+        int last = end;
+
+        while (pivotComp(pivot, --last, begin)) {
+            // skip elements already on the correct side
+        }
+        if (last + 1 == end) {
+            while (first < last && !pivotComp(pivot, ++first, begin)) {
+                // guarded: there may be no element after the pivot
+            }
+        } else {
+            while (!pivotComp(pivot, ++first, begin)) {
+                // the element at last + 1 stops the scan
+            }
+        }
+
+        while (first < last) {
+            swap(arr, first, last, listener);
+            while (pivotComp(pivot, --last, begin)) {
+                // skip elements already on the correct side
+            }
+            while (!pivotComp(pivot, ++first, begin)) {
+                // skip elements already on the correct side
+            }
+        }
+
+        swap(arr, begin, last, listener);
+        return last;
+    }
+
+    /**
+     * Insertion sort that gives up after a few element moves.
+     *
+     * @param begin the first index of the subarray
+     * @param end   the index after the last element of the subarray
+     * @return true if the subarray is now sorted
+     */
+    private boolean partialInsertionSort(int begin, int end) {
+        if (begin == end) {
+            return true;
+        }
+
+        int limit = 0;
+        for (int cur = begin + 1; cur < end; cur++) {
+            if (comp(cur, cur - 1)) {
+                int value = arr[cur];
+                int sift = cur;
+                do {
+                    write(arr, sift, arr[sift - 1], listener);
+                    sift--;
+                } while (sift != begin && compValue(value, sift - 1));
+                write(arr, sift, value, listener);
+                limit += cur - sift;
+            }
+            if (limit > PARTIAL_INSERTION_SORT_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts three elements so that they are in order.
+     */
+    private void sort3(int a, int b, int c) {
+        sort2(a, b);
+        sort2(b, c);
+        sort2(a, b);
+    }
+
+    /**
+     * Sorts two elements so that they are in order.
+     */
+    private void sort2(int a, int b) {
+        if (comp(b, a)) {
+            swap(arr, a, b, listener);
+        }
+    }
+
+    /**
+     * Checks whether the element at {@code i} goes strictly before the element at {@code j}.
+     */
+    private boolean comp(int i, int j) {
+        listener.onCompare(i, j);
+        return before(arr[i], arr[j], descending);
+    }
+
+    /**
+     * Checks whether the value goes strictly before the element at {@code j}.
+     */
+    private boolean compValue(int value, int j) {
+        listener.onCompare(j, j + 1);
+        return before(value, arr[j], descending);
+    }
+
+    /**
+     * Checks whether the element at {@code i} goes strictly before the pivot stored at {@code pivotIndex}.
+     */
+    private boolean compPivot(int i, int pivot, int pivotIndex) {
+        listener.onCompare(i, pivotIndex);
+        return before(arr[i], pivot, descending);
+    }
+
+    /**
+     * Checks whether the pivot stored at {@code pivotIndex} goes strictly before the element at {@code i}.
+     */
+    private boolean pivotComp(int pivot, int i, int pivotIndex) {
+        listener.onCompare(pivotIndex, i);
+        return before(pivot, arr[i], descending);
+    }
+}
@@ -0,0 +1,162 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Non-recursive introsort: a quicksort that uses an explicit stack to manage subarray bounds
+ * and partitions every subarray with the chosen {@link PartitionScheme}.
+ * Subarrays that are partitioned deeper than 2 * log2(n) levels are finished with heapsort,
+ * which bounds the worst case to O(n log n) even on adversarial or duplicate-heavy input.
+ * Every thread keeps its own stack and reuses it across sorts, so the instances hold no per-sort state:
+ * a new instance per sort costs nothing, and an instance may be shared between concurrently running sorts,
+ * although {@link #lastStackDepth()} then reports whichever of them finished last.
+ */
+final class QuickSort implements SortAlgorithm {
+
+    /**
+     * Low border of sorting interval.
+     */
+    private static final int LOW_SORTING_BORDER = 0;
+
+    /**
+     * Stack of pending subarray bounds and depths of every thread, reused across sorts to keep the hot path
+     * allocation-free.
+     */
+    private static final ThreadLocal<IntStack> STACKS = ThreadLocal.withInitial(IntStack::new);
+
+    /**
+     * Scheme used to partition every subarray.
+     */
+    private final PartitionScheme scheme;
+
+    /**
+     * Largest number of pending subarrays during the last sort.
+     */
+    private int lastStackDepth;
+
+    /**
+     * Creates a quicksort with the Lomuto partition.
+     */
+    QuickSort() {
+        this(PartitionScheme.LOMUTO);
+    }
+
+    /**
+     * Creates a quicksort with the given partition scheme.
+     *
+     * @param scheme the scheme used to partition every subarray
+     */
+    QuickSort(PartitionScheme scheme) {
+        this.scheme = scheme;
+    }
+
+    @Override
+    public String getName() {
+        return scheme == PartitionScheme.LOMUTO ? "Quicksort" : "Quicksort (" + scheme.getLabel() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        lastStackDepth = quickSort(arr, arr.length - 1, descending, listener);
+    }
+
+    @Override
+    public int lastStackDepth() {
+        return lastStackDepth;
+    }
+
+    /**
+     * Performs a non-recursive quicksort on the given array using an explicit stack to manage subarray bounds.
+     * The smaller side of every partition is processed first and only the larger one is pushed,
+     * so the stack never holds more than log2(n) subarrays.
+     * Every pushed subarray carries its partitioning depth, once it passes the limit the subarray is heapsorted.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param high       the ending index of the subarray to be sorted
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @return the largest number of pending subarrays
+     */
+    int quickSort(int[] arr, int high, boolean descending, SortListener listener) {
+        if (arr == null || arr.length == 0 || high <= LOW_SORTING_BORDER)
+            return 0;
+
+        return sortRange(arr, LOW_SORTING_BORDER, high, descending, listener);
+    }
+
+    /**
+     * Sorts the subarray {@code [low, high]}, see {@link #quickSort(int[], int, boolean, SortListener)}.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param low        the starting index of the subarray to be sorted
+     * @param high       the ending index of the subarray to be sorted
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @return the largest number of pending subarrays, every one taking three entries of the stack
+     */
+    int sortRange(int[] arr, int low, int high, boolean descending, SortListener listener) {
+        int depthLimit = depthLimit(high - low + 1);
+        PartitionKernel kernel = scheme.kernel(descending);
+        SmallSortKernel smallSortKernel = kernel instanceof SmallSortKernel small ? small : null;
+        int smallSortLimit = smallSortKernel == null ? 0 : smallSortKernel.smallSortLimit();
+
+        IntStack stack = STACKS.get();
+        stack.clear();
+        stack.push(low);
+        stack.push(high);
+        stack.push(0);
+
+        while (!stack.isEmpty()) {
+            int depth = stack.pop();
+            high = stack.pop();
+            low = stack.pop();
+
+            while (low < high) {
+                listener.onPartition(low, high);
+                if (high - low < smallSortLimit) {
+                    smallSortKernel.smallSort(arr, low, high, listener);
+                    break;
+                }
+                if (depth > depthLimit) {
+                    HeapSort.heapSort(arr, low, high, descending, listener);
+                    break;
+                }
+                depth++;
+
+                long pivotRange = kernel.partition(arr, low, high, listener);
+                int pivotLow = PartitionScheme.lower(pivotRange);
+                int pivotHigh = PartitionScheme.upper(pivotRange);
+
+                if (pivotLow - low < high - pivotHigh) {
+                    if (pivotHigh + 1 < high) {
+                        stack.push(pivotHigh + 1);
+                        stack.push(high);
+                        stack.push(depth);
+                    }
+                    high = pivotLow - 1;
+                } else {
+                    if (pivotLow - 1 > low) {
+                        stack.push(low);
+                        stack.push(pivotLow - 1);
+                        stack.push(depth);
+                    }
+                    low = pivotHigh + 1;
+                }
+            }
+        }
+        return stack.peak() / 3;
+    }
+
+    /**
+     * Returns the partitioning depth after which introsort switches to heapsort.
+     *
+     * @param size the number of elements being sorted
+     * @return 2 * floor(log2(size))
+     */
+    static int depthLimit(int size) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+    }
+}
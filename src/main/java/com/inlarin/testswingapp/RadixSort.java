@@ -0,0 +1,83 @@
+package com.inlarin.testswingapp;
+
+import java.util.Arrays;
+
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * LSD radix sort over the full int range, one byte per pass.
+ * The sign bit is flipped so negative values sort before positive ones,
+ * and descending order simply inverts every key.
+ */
+final class RadixSort implements SortAlgorithm {
+
+    /**
+     * Number of bits processed in one pass.
+     */
+    private static final int DIGIT_BITS = 8;
+
+    /**
+     * Number of buckets in one pass.
+     */
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    @Override
+    public String getName() {
+        return "Radix sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+
+        int[] buffer = new int[n];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            listener.onPartition(0, n - 1);
+            Arrays.fill(counts, 0);
+            for (int value : arr) {
+                counts[digit(value, shift, descending)]++;
+            }
+            if (counts[digit(arr[0], shift, descending)] == n) {
+                continue;
+            }
+
+            int position = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[d];
+                counts[d] = position;
+                position += count;
+            }
+            for (int value : arr) {
+                buffer[counts[digit(value, shift, descending)]++] = value;
+            }
+            for (int i = 0; i < n; i++) {
+                write(arr, i, buffer[i], listener);
+            }
+        }
+    }
+
+    /**
+     * Extracts the bucket of a value for the given pass.
+     *
+     * @param value      the value to classify
+     * @param shift      the position of the lowest bit of the digit
+     * @param descending true to invert the key for descending order
+     * @return the bucket index in {@code [0, RADIX)}
+     */
+    private static int digit(int value, int shift, boolean descending) {
+        int key = value ^ Integer.MIN_VALUE;
+        if (descending) {
+            key = ~key;
+        }
+        return (key >>> shift) & (RADIX - 1);
+    }
+}
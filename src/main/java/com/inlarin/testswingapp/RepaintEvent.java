@@ -0,0 +1,50 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event spanning one paint of the {@link NumbersGrid} on the event dispatch thread.
+ * Only paints slower than the threshold are recorded.
+ */
+@Name("com.inlarin.testswingapp.Repaint")
+@Label("Numbers Repaint")
+@Category({"Sort Visualizer", "Swing"})
+@Description("Painting of the cells of the numbers grid within the clip")
+@Threshold("1 ms")
+final class RepaintEvent extends Event {
+
+    /**
+     * Name of the algorithm whose sort is shown, null before the first sort.
+     */
+    @Label("Algorithm")
+    String algorithm;
+
+    /**
+     * Order the numbers are being or were last sorted into.
+     */
+    @Label("Order")
+    String order;
+
+    /**
+     * Number of numbers in the model.
+     */
+    @Label("Element Count")
+    int count;
+
+    /**
+     * Number of cells painted.
+     */
+    @Label("Painted Cells")
+    int cells;
+
+    /**
+     * Area of the clip in pixels.
+     */
+    @Label("Clip Area")
+    long clipArea;
+}
@@ -0,0 +1,101 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.reverse;
+
+/**
+ * Natural merge sort: the first pass reverses every run that is sorted the other way,
+ * then neighbouring runs are merged pairwise until one run is left.
+ * Takes O(n log r) for r runs, so already sorted or reverse-sorted input costs a single pass.
+ */
+final class RunMergeSort implements SortAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Run merge sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+
+        if (normalizeRuns(arr, descending, listener) == 1) {
+            return;
+        }
+
+        int[] buffer = new int[n];
+        int runs;
+        do {
+            runs = 0;
+            int low = 0;
+            while (low < n) {
+                int middle = runEnd(arr, low, descending, listener);
+                runs++;
+                if (middle == n) {
+                    break;
+                }
+                int high = runEnd(arr, middle, descending, listener);
+                MergeSort.merge(arr, buffer, low, middle, high, descending, listener);
+                low = high;
+            }
+        } while (runs > 1);
+    }
+
+    /**
+     * Reverses every run sorted the other way, so that afterwards all runs are in the requested order.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @return the number of runs in the array
+     */
+    private static int normalizeRuns(int[] arr, boolean descending, SortListener listener) {
+        int runs = 0;
+        int low = 0;
+        while (low < arr.length) {
+            int high = low + 1;
+            if (high < arr.length && before(arr[high], arr[low], descending)) {
+                listener.onCompare(low, high);
+                while (high + 1 < arr.length && !before(arr[high], arr[high + 1], descending)) {
+                    listener.onCompare(high, high + 1);
+                    high++;
+                }
+                reverse(arr, low, high, listener);
+                high++;
+            }
+            high = runEnd(arr, high - 1, descending, listener);
+            runs++;
+            low = high;
+        }
+        return runs;
+    }
+
+    /**
+     * Finds the end of the sorted run starting at {@code low}.
+     *
+     * @param arr        the array to scan
+     * @param low        the first index of the run
+     * @param descending true for descending order, false for ascending order
+     * @param listener   the listener notified about every comparison
+     * @return the index after the last element of the run
+     */
+    private static int runEnd(int[] arr, int low, boolean descending, SortListener listener) {
+        int high = low + 1;
+        while (high < arr.length) {
+            listener.onCompare(high - 1, high);
+            if (before(arr[high], arr[high - 1], descending)) {
+                break;
+            }
+            high++;
+        }
+        return high;
+    }
+}
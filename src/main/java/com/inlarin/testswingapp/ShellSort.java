@@ -0,0 +1,67 @@
+package com.inlarin.testswingapp;
+
+import static com.inlarin.testswingapp.SortAlgorithms.before;
+import static com.inlarin.testswingapp.SortAlgorithms.write;
+
+/**
+ * Shell sort with the Ciura gap sequence, extended by a factor of 2.25 for larger arrays.
+ */
+final class ShellSort implements SortAlgorithm {
+
+    /**
+     * Empirically best known gaps for the smaller arrays.
+     */
+    private static final int[] CIURA_GAPS = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+
+    @Override
+    public String getName() {
+        return "Shell sort";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    @Override
+    public void sort(int[] arr, boolean descending, SortListener listener) {
+        int n = arr.length;
+        long gap = CIURA_GAPS[CIURA_GAPS.length - 1];
+        while (gap * 9 / 4 < n) {
+            gap = gap * 9 / 4;
+        }
+        for (; gap > CIURA_GAPS[CIURA_GAPS.length - 1]; gap = gap * 4 / 9) {
+            gappedInsertionSort(arr, (int) gap, descending, listener);
+        }
+        for (int i = CIURA_GAPS.length - 1; i >= 0; i--) {
+            if (CIURA_GAPS[i] < n) {
+                gappedInsertionSort(arr, CIURA_GAPS[i], descending, listener);
+            }
+        }
+    }
+
+    /**
+     * Runs one insertion sort pass over elements that are {@code gap} positions apart.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param gap        the distance between compared elements
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    private static void gappedInsertionSort(int[] arr, int gap, boolean descending, SortListener listener) {
+        listener.onPartition(0, arr.length - 1);
+        for (int i = gap; i < arr.length; i++) {
+            int value = arr[i];
+            int j = i;
+            while (j >= gap) {
+                listener.onCompare(j - gap, j);
+                if (!before(value, arr[j - gap], descending)) {
+                    break;
+                }
+                write(arr, j, arr[j - gap], listener);
+                j -= gap;
+            }
+            write(arr, j, value, listener);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
 import javax.swing.JScrollPane;
@@ -27,18 +29,11 @@ import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
-import java.util.Deque;
-import java.util.ArrayDeque;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Random;
-import java.util.stream.IntStream;
-
 
 /**
  * A simple Swing-based Single Page Application (SPA) that allows users to generate and sort a list of random numbers.
  * The application provides an intro screen where the user specifies how many numbers to generate,
- * and a sorting screen that displays buttons representing those numbers, allowing the user to sort or reset them.
+ * and a sorting screen that displays those numbers in a grid, allowing the user to sort or reset them.
  */
 @Getter
 @Slf4j
@@ -46,12 +41,12 @@ public class SimpleSPA extends JFrame {
 
 
     /**
-     * Width of each number button element.
+     * Width of each number cell.
      */
     private static final int EL_WIDTH = 60;
 
     /**
-     * Height of each number button element.
+     * Height of each number cell.
      */
     private static final int EL_HEIGHT = 25;
 
@@ -86,7 +81,7 @@ public class SimpleSPA extends JFrame {
     private static final int BUTTON_WIDTH = 100;
 
     /**
-     * Maximum number of elements (number buttons) that can be displayed in a single column.
+     * Maximum number of elements (number cells) that can be displayed in a single column.
      */
     private static final int MAX_ELEMENTS_IN_COL = 10;
 
@@ -96,24 +91,9 @@ public class SimpleSPA extends JFrame {
     private static final int MAX_NUMBER_OF_COLS = 10;
 
     /**
-     * Low border of sorting interval.
-     */
-    private static final int LOW_SORTING_BORDER = 0;
-
-    /**
-     * Buttons with values less than this element can reset array and with values bigger than this should throw error message.
+     * Maximum number of numbers that can be generated.
      */
-    private static final int ARRAY_SPECIFIC_ELEMENT = 30;
-
-    /**
-     * The minimum button value that can be generated
-     */
-    private static final int ARRAY_MIN_NUMBER = 1;
-
-    /**
-     * The maximum button value that can be generated
-     */
-    private static final int ARRAY_MAX_NUMBER = 1000;
+    private static final int MAX_ELEMENTS_COUNT = 1_000_000;
 
     /**
      * Layout manager that switches between panels, simulating a single-page application.
@@ -126,9 +106,14 @@ public class SimpleSPA extends JFrame {
     private final JPanel mainPanel;
 
     /**
-     * List of buttons representing the numbers displayed in the sorting panel.
+     * The displayed numbers, the only copy of the data.
      */
-    private final List<JButton> numberButtons = new ArrayList<>();
+    private final NumbersModel numbersModel = new NumbersModel();
+
+    /**
+     * Grid painting the numbers displayed in the sorting panel, a view of {@link #numbersModel}.
+     */
+    private final NumbersGrid numbersGrid;
 
     /**
      * Panel that contains the sorting functionality (buttons and numbers).
@@ -141,7 +126,12 @@ public class SimpleSPA extends JFrame {
     private JTextField elementsCountInput;
 
     /**
-     * Scroll pane that holds the panel displaying the number buttons.
+     * Plays the steps of running sorts on {@link #numbersModel}.
+     */
+    private final AnimationScheduler animationScheduler;
+
+    /**
+     * Scroll pane that holds the grid displaying the numbers.
      */
     private JScrollPane numbersScrollPanel;
 
@@ -160,6 +150,42 @@ public class SimpleSPA extends JFrame {
      */
     private JButton sortButton;
 
+    /**
+     * Combo box used to choose the sorting algorithm.
+     */
+    private JComboBox<SortAlgorithms.Choice> algorithmBox;
+
+    /**
+     * Combo box used to choose the animation speed.
+     */
+    private JComboBox<AnimationSpeed> speedBox;
+
+    /**
+     * Check box that lets the sort run ahead of the animation, dropping intermediate states.
+     */
+    private JCheckBox fastForwardBox;
+
+    /**
+     * Combo box used to choose how a sort is shown.
+     */
+    private JComboBox<SortMode> modeBox;
+
+    /**
+     * How the "Sort" button shows the sort.
+     */
+    private SortMode sortMode = SortMode.ANIMATED;
+
+    /**
+     * Controls for moving through the last recorded sort.
+     */
+    private TimelinePanel timelinePanel;
+
+    /**
+     * Algorithm used by the "Sort" button, every sort getting a fresh instance: a cancelled sort may still be running
+     * while the next one starts, and some algorithms, such as pdqsort, keep per-sort state.
+     */
+    private SortAlgorithms.Choice sortAlgorithm;
+
     /**
      * Flag indicating whether the numbers should be sorted in descending order (true) or ascending order (false).
      */
@@ -167,27 +193,36 @@ public class SimpleSPA extends JFrame {
     private boolean descendingOrder = true;
 
     /**
-     * The number of elements (number buttons) to be displayed, determined by user input.
+     * The number of elements (number cells) to be displayed, determined by user input.
      */
     private Integer elementsCount;
 
     /**
-     * Variable which is used for button value generation.
+     * Generates and sorts the numbers, the frame only displays them.
      */
-    private final Random rand;
+    private final SortEngine engine;
 
     /**
      * Variable which is used for containing sorting thread
      */
     private Thread sortThread;
 
+    /**
+     * Token of the last started sort, cancelled when its result is no longer wanted.
+     */
+    private CancellationToken sortToken = new CancellationToken();
+
 
     /**
      * Constructs the main frame of the application with an intro panel and a sorting panel.
      * It sets the window title, size, and initializes components for number generation and sorting.
      */
     public SimpleSPA() {
-        rand = new Random();
+        engine = new SortEngine();
+        numbersGrid = new NumbersGrid(numbersModel, MAX_ELEMENTS_IN_COL, EL_WIDTH, EL_HEIGHT, GAP);
+        numbersGrid.setCellClickHandler(this::onNumberClicked);
+        animationScheduler = new AnimationScheduler(numbersModel);
+        animationScheduler.setSpeed(AnimationSpeed.TEN_PER_SECOND);
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
 
@@ -215,6 +250,26 @@ public class SimpleSPA extends JFrame {
         SwingUtilities.invokeLater(SimpleSPA::new);
     }
 
+    /**
+     * Selects how the "Sort" button shows the sort, in the mode combo box as well.
+     *
+     * @param sortMode the mode
+     */
+    void setSortMode(SortMode sortMode) {
+        modeBox.setSelectedItem(sortMode);
+        this.sortMode = sortMode;
+    }
+
+    /**
+     * Selects the algorithm used by the "Sort" button, in the algorithm combo box as well.
+     *
+     * @param sortAlgorithm one of {@link SortAlgorithms#choices()}
+     */
+    void setSortAlgorithm(SortAlgorithms.Choice sortAlgorithm) {
+        algorithmBox.setSelectedItem(sortAlgorithm);
+        this.sortAlgorithm = sortAlgorithm;
+    }
+
     /**
      * Creates the intro panel where the user specifies the number of random numbers to generate.
      *
@@ -255,8 +310,8 @@ public class SimpleSPA extends JFrame {
                 return;
             }
 
-            if (count < ARRAY_MIN_NUMBER || count > ARRAY_MAX_NUMBER) {
-                JOptionPane.showMessageDialog(null, "Please enter a number between 1 and 1000.");
+            if (count < SortEngine.ARRAY_MIN_NUMBER || count > MAX_ELEMENTS_COUNT) {
+                JOptionPane.showMessageDialog(null, "Please enter a number between 1 and " + MAX_ELEMENTS_COUNT + ".");
                 return;
             }
 
@@ -292,18 +347,48 @@ public class SimpleSPA extends JFrame {
         sortButton.setBackground(Color.GREEN);
         sortButton.setMaximumSize(new Dimension(BUTTON_WIDTH, EL_HEIGHT));
 
+        algorithmBox = new JComboBox<>(SortAlgorithms.choices().toArray(new SortAlgorithms.Choice[0]));
+        algorithmBox.setMaximumSize(new Dimension(BUTTON_WIDTH, EL_HEIGHT));
+        sortAlgorithm = algorithmBox.getItemAt(0);
+        algorithmBox.addActionListener(e -> sortAlgorithm = (SortAlgorithms.Choice) algorithmBox.getSelectedItem());
+
+        speedBox = new JComboBox<>(AnimationSpeed.values());
+        speedBox.setMaximumSize(new Dimension(BUTTON_WIDTH, EL_HEIGHT));
+        speedBox.setSelectedItem(AnimationSpeed.TEN_PER_SECOND);
+        speedBox.addActionListener(e -> animationScheduler.setSpeed((AnimationSpeed) speedBox.getSelectedItem()));
+
+        fastForwardBox = new JCheckBox("Fast-forward");
+        fastForwardBox.addActionListener(e ->
+                animationScheduler.setBackpressure(fastForwardBox.isSelected() ? Backpressure.DROP : Backpressure.BLOCK));
+
         buttonsPanel.add(sortButton);
         buttonsPanel.add(Box.createRigidArea(new Dimension(0, GAP)));
         buttonsPanel.add(resetButton);
+        buttonsPanel.add(Box.createRigidArea(new Dimension(0, GAP)));
+        buttonsPanel.add(algorithmBox);
+        buttonsPanel.add(Box.createRigidArea(new Dimension(0, GAP)));
+        buttonsPanel.add(speedBox);
+        buttonsPanel.add(fastForwardBox);
+
+        modeBox = new JComboBox<>(SortMode.values());
+        modeBox.setMaximumSize(new Dimension(BUTTON_WIDTH, EL_HEIGHT));
+        modeBox.setSelectedItem(sortMode);
+        modeBox.addActionListener(e -> sortMode = (SortMode) modeBox.getSelectedItem());
+        buttonsPanel.add(modeBox);
+
+        timelinePanel = new TimelinePanel(numbersModel, animationScheduler, BUTTON_WIDTH, EL_HEIGHT);
+        timelinePanel.setPlayingHandler(playing -> {
+            sortButton.setEnabled(!playing);
+            resetButton.setEnabled(!playing);
+        });
+        buttonsPanel.add(timelinePanel);
 
         sortButton.addActionListener(new SortAction());
 
         resetButton.addActionListener(e -> {
-            if(sortThread != null && sortThread.isAlive()) {
-                sortThread.interrupt();
-            }
+            cancelSort();
             descendingOrder = true;
-            numberButtons.clear();
+            numbersModel.setValues(new int[0]);
             cardLayout.show(mainPanel, "Intro");
         });
 
@@ -313,237 +398,214 @@ public class SimpleSPA extends JFrame {
     }
 
     /**
-     * Generates an array of random numbers based on the specified count.
+     * Generates an array of random numbers based on the specified count, see {@link SortEngine#generateRandomNumbers(int)}.
      * Ensures that at least one number is less than or equal to 30 (ARRAY_SPECIFIC_ELEMENT) .
      *
      * @param count the number of random numbers to generate
      * @return an array of random integers
      */
     int[] generateRandomNumbers(int count) {
-        int[] numbers = new int[count];
-        boolean hasLowNumber = false;
-
-        for (int i = 0; i < count; i++) {
-            numbers[i] = rand.nextInt(ARRAY_MAX_NUMBER) + ARRAY_MIN_NUMBER;
-            if (numbers[i] <= ARRAY_SPECIFIC_ELEMENT) {
-                hasLowNumber = true;
-            }
-        }
-
-        if (!hasLowNumber) {
-            numbers[rand.nextInt(count)] = rand.nextInt(ARRAY_SPECIFIC_ELEMENT) + ARRAY_MIN_NUMBER;
-        }
-
-        return numbers;
+        return engine.generateRandomNumbers(count);
     }
 
     /**
-     * Initializes the panel that displays the generated random numbers as buttons.
+     * Displays the given numbers, replacing the current ones in the model.
      *
      * @param numbers the array of numbers to display
      */
     void initNumbersPanel(int[] numbers) {
-        JPanel numbersPanel = new JPanel(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(GAP, 0, GAP, GAP);
-        gbc.gridy = 0;
-        gbc.gridx = 0;
-        gbc.fill = GridBagConstraints.HORIZONTAL;
-
-        numbersPanel.removeAll();
-        for (int num : numbers) {
-            JButton numButton = getButton(num);
-            numberButtons.add(numButton);
-
-            numbersPanel.add(numButton, gbc);
-            gbc.gridy++;
-            if (gbc.gridy == MAX_ELEMENTS_IN_COL) {
-                gbc.gridy = 0;
-                gbc.gridx++;
-            }
-        }
+        cancelSort();
+        numbersModel.setValues(numbers);
 
         if(numbersScrollPanel == null) {
-            numbersScrollPanel = new JScrollPane(numbersPanel);
+            numbersScrollPanel = new JScrollPane(numbersGrid);
             numbersScrollPanel.setBorder(null);
 
             sortPanel.add(numbersScrollPanel, BorderLayout.WEST);
         }
-        updateJScrollPane(numbersPanel);
+        updateJScrollPane();
 
         sortPanel.revalidate();
         sortPanel.repaint();
     }
 
     /**
-     * Creates a button for a specific number. If the number is less than or equal to 30,
-     * clicking the button will generate a new set of random numbers.
+     * Handles a click on a number. If the number is less than or equal to 30,
+     * a new set of random numbers is generated.
      *
-     * @param num the number to be displayed on the button
-     * @return a JButton representing the number
-     */
-    JButton getButton(int num) {
-        JButton numButton = new JButton(String.valueOf(num));
-        numButton.setBackground(Color.BLUE);
-        numButton.setForeground(Color.WHITE);
-        numButton.setPreferredSize(new Dimension(EL_WIDTH, EL_HEIGHT));
-        numButton.addActionListener(e -> {
-            int numberOnButton = Integer.parseInt(numButton.getText());
-            if (numberOnButton <= ARRAY_SPECIFIC_ELEMENT) {
-                numberButtons.clear();
-                elementsCount = numberOnButton;
-                initNumbersPanel(generateRandomNumbers(elementsCount));
-            } else {
-                JOptionPane.showMessageDialog(null, "Please select a value smaller or equal to 30.");
-            }
-        });
-        return numButton;
+     * @param index the index of the clicked number
+     */
+    void onNumberClicked(int index) {
+        int clickedNumber = numbersModel.get(index);
+        if (clickedNumber <= SortEngine.ARRAY_SPECIFIC_ELEMENT) {
+            elementsCount = clickedNumber;
+            initNumbersPanel(generateRandomNumbers(elementsCount));
+        } else {
+            JOptionPane.showMessageDialog(null, "Please select a value smaller or equal to 30.");
+        }
     }
 
     /**
-     * Initializes the scroll pane for displaying the number buttons.
-     *
-     * @param jPanel the panel containing the number buttons
+     * Sizes the scroll pane displaying the numbers grid to the current number of numbers.
      */
-    void updateJScrollPane(JPanel jPanel) {
-        numbersScrollPanel.setViewportView(jPanel);
-        int countOfCols = (int) Math.ceil(numberButtons.size() / (double) MAX_NUMBER_OF_COLS);
+    void updateJScrollPane() {
+        int countOfCols = (int) Math.ceil(numbersModel.size() / (double) MAX_NUMBER_OF_COLS);
         numbersScrollPanel.setHorizontalScrollBarPolicy(countOfCols > MAX_NUMBER_OF_COLS ? JScrollPane.HORIZONTAL_SCROLLBAR_ALWAYS : JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         numbersScrollPanel.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
         countOfCols = Math.min(countOfCols, MAX_NUMBER_OF_COLS);
         numbersScrollPanel.setPreferredSize(new Dimension((EL_WIDTH + GAP)* countOfCols, (EL_HEIGHT + GAP * 2) * MAX_ELEMENTS_IN_COL));
         numbersScrollPanel.getHorizontalScrollBar().setPreferredSize(new Dimension(EL_WIDTH, SCROLL_HEIGHT));
+        numbersScrollPanel.getHorizontalScrollBar().setUnitIncrement(EL_WIDTH + GAP);
+    }
+
+    /**
+     * Stops the running sort and its animation, so that nothing it does reaches the model any more,
+     * and enables the buttons again. Must be called on the event dispatch thread.
+     */
+    void cancelSort() {
+        sortToken.cancel();
+        animationScheduler.cancel();
+        timelinePanel.clear();
+        sortButton.setEnabled(true);
+        resetButton.setEnabled(true);
     }
 
     /**
-     * ActionListener implementation that handles the sorting of number buttons when the "Sort" button is clicked.
+     * ActionListener implementation that handles the sorting of the numbers when the "Sort" button is clicked.
      * The numbers can be sorted in ascending or descending order depending on the current state.
+     * The sorting itself is delegated to the selected {@link SortAlgorithm} on a separate thread,
+     * and depending on the {@link SortMode} its steps are played on the model by the {@link AnimationScheduler}
+     * while the sort runs, recorded at full speed first and played from a {@link SortTimeline},
+     * or skipped altogether, the model then receiving the sorted numbers in a single update.
+     * Every sort gets its own {@link CancellationToken}: a cancelled sort stops at its next partition,
+     * and results posted to the event dispatch thread are dropped once the token is cancelled there.
      */
     class SortAction implements ActionListener {
 
         /**
          * Handles the action when the "Sort" button is clicked. It toggles the sorting order (ascending/descending),
-         * disables the "Sort" button, and starts a new thread to perform the sorting operation using quicksort.
+         * disables the "Sort" button, and starts a new thread to perform the sorting operation with the selected algorithm.
+         * The buttons are enabled again once the animation has played the last step.
          *
          * @param e the event triggered when the "Sort" button is clicked.
          */
         @Override
         public void actionPerformed(ActionEvent e) {
+            sortToken.cancel();
+            CancellationToken token = new CancellationToken();
+            sortToken = token;
             sortButton.setEnabled(false);
             resetButton.setEnabled(false);
-            int[] arr = new int[numberButtons.size()];
-
-            IntStream.range(0, numberButtons.size())
-                    .forEach(i -> arr[i] = Integer.parseInt(numberButtons.get(i).getText()));
-
-
-            sortThread = new Thread(() -> {
-                quickSort(arr, arr.length - 1);
+            timelinePanel.clear();
+            int[] arr = numbersModel.toArray();
+
+            SortAlgorithm algorithm = sortAlgorithm.create();
+            boolean descending = descendingOrder;
+            SortOrder known = numbersModel.getKnownOrder();
+            SortOrder target = SortOrder.of(descending);
+            numbersModel.setSortAlgorithm(algorithm.getName());
+            numbersModel.setSortOrder(target);
+            Runnable onFinished = () -> {
+                numbersModel.setKnownOrder(target);
                 sortButton.setEnabled(true);
                 resetButton.setEnabled(true);
-            });
+            };
+            if (sortMode == SortMode.INSTANT) {
+                animationScheduler.cancel();
+                sortThread = new Thread(() -> sortInstantly(arr, known, algorithm, descending, token, onFinished));
+            } else if (sortMode == SortMode.RECORDED) {
+                animationScheduler.cancel();
+                sortThread = new Thread(() -> recordAndPlay(arr, known, algorithm, descending, token, onFinished));
+            } else {
+                AnimationScheduler.Animation animation = animationScheduler.start(onFinished);
+                sortThread = new Thread(() -> {
+                    try {
+                        SortEngine.sort(arr, known, algorithm, descending, token.guard(animation));
+                    } catch (SortCancelledException ex) {
+                        log.debug("Animated sort cancelled");
+                    } finally {
+                        animation.finish(arr);
+                    }
+                });
+            }
             sortThread.start();
 
             descendingOrder = !descendingOrder;
         }
 
         /**
-         * Performs a non-recursive quicksort on the given array using an explicit stack to manage subarray bounds.
+         * Sorts without reporting any step and shows the result with a single model update.
+         * Called on the sorting thread.
          *
-         * @param arr  the array of integers to be sorted
-         * @param high the ending index of the subarray to be sorted
+         * @param arr        the numbers to sort
+         * @param known      what is known about the current order of the numbers
+         * @param algorithm  the algorithm used if the numbers have to be sorted
+         * @param descending true to sort in descending order, false for ascending order
+         * @param token      the token of the sort
+         * @param onFinished called on the event dispatch thread once the numbers show the result
          */
-        void quickSort(int[] arr, int high) {
-            if (arr == null || arr.length == 0 || high <= LOW_SORTING_BORDER)
+        private void sortInstantly(int[] arr, SortOrder known, SortAlgorithm algorithm, boolean descending,
+                                   CancellationToken token, Runnable onFinished) {
+            try {
+                SortEngine.sort(arr, known, algorithm, descending, token.guard(SortListener.NONE));
+            } catch (SortCancelledException ex) {
+                log.debug("Instant sort cancelled");
                 return;
-
-            Deque<Integer> stack = new ArrayDeque<>();
-            stack.push(LOW_SORTING_BORDER);
-            stack.push(high);
-
-            while (!stack.isEmpty()) {
-                high = stack.pop();
-                int low = stack.pop();
-
-                int pivotIndex = partition(arr, low, high);
-
-                if (pivotIndex - 1 > low) {
-                    stack.push(low);
-                    stack.push(pivotIndex - 1);
-                }
-
-                if (pivotIndex + 1 < high) {
-                    stack.push(pivotIndex + 1);
-                    stack.push(high);
-                }
             }
-        }
-
-        int partition(int[] arr, int low, int high) {
-            int middle = low + (high - low) / 2;
-            int pivot = arr[middle];
-
-            swap(arr, middle, high);
-
-            int i = low;
-            for (int j = low; j < high; j++) {
-                boolean condition = descendingOrder ? arr[j] <= pivot : arr[j] >= pivot;
-                if (condition) {
-                    swap(arr, i, j);
-                    i++;
-                }
-            }
-
-            swap(arr, i, high);
-
-            return i;
+            unlessCancelled(token, () -> {
+                numbersModel.writeAll(arr);
+                onFinished.run();
+            });
         }
 
         /**
-         * Swaps two elements in the array and updates the corresponding buttons to reflect the change.
+         * Records the sort at full speed and plays its timeline, which can then be scrubbed.
+         * Called on the sorting thread. If the sort cannot be recorded, the sorted numbers are shown at once.
          *
-         * @param arr    the array in which to swap elements
-         * @param index1 the index of the first element
-         * @param index2 the index of the second element
+         * @param arr        the numbers to sort
+         * @param known      what is known about the current order of the numbers
+         * @param algorithm  the algorithm used if the numbers have to be sorted
+         * @param descending true to sort in descending order, false for ascending order
+         * @param token      the token of the sort
+         * @param onFinished called on the event dispatch thread once the numbers show the result
          */
-        void swap(int[] arr, int index1, int index2) {
-            int temp = arr[index1];
-            arr[index1] = arr[index2];
-            arr[index2] = temp;
-
-            swapButtons(index1, index2);
+        private void recordAndPlay(int[] arr, SortOrder known, SortAlgorithm algorithm, boolean descending,
+                                   CancellationToken token, Runnable onFinished) {
+            TraceRecorder recorder = new TraceRecorder(arr, false);
+            SortTrace trace;
+            SortTimeline timeline;
+            try {
+                SortEngine.sort(arr.clone(), known, algorithm, descending, token.guard(recorder));
+                trace = recorder.toTrace();
+                timeline = new SortTimeline(trace);
+            } catch (SortCancelledException ex) {
+                log.debug("Recorded sort cancelled");
+                return;
+            } catch (IllegalStateException ex) {
+                log.warn("Sort could not be recorded, showing the result", ex);
+                sortInstantly(arr, known, algorithm, descending, token, onFinished);
+                return;
+            }
+            log.debug("Recorded {} moves in {} bytes, {} keyframes", trace.moves(), trace.getByteLength(),
+                    timeline.keyframeCount());
+            unlessCancelled(token, () -> {
+                timelinePanel.play(timeline, SortOrder.of(descending), onFinished);
+            });
         }
 
         /**
-         * Swaps the text of two number buttons and change background for the time of swapping,
-         * reflecting the swap in the underlying array.
+         * Runs the action on the event dispatch thread, unless the sort has been cancelled by then.
+         * Cancellation happens on the event dispatch thread too, so the check cannot race with it.
          *
-         * @param i the index of the first button
-         * @param j the index of the second button
+         * @param token  the token of the sort
+         * @param action the action updating the view
          */
-        void swapButtons(int i, int j) {
-            // Thread.sleep() can be used for a clearer vision
-            try {
-                if(i == j) {
-                    numberButtons.get(i).setBackground(Color.GREEN);
-                } else {
-                    numberButtons.get(i).setBackground(Color.RED);
-                    numberButtons.get(j).setBackground(Color.ORANGE);
+        private void unlessCancelled(CancellationToken token, Runnable action) {
+            SwingUtilities.invokeLater(() -> {
+                if (!token.isCancelled()) {
+                    action.run();
                 }
-
-                Thread.sleep(500);
-                String tempText = numberButtons.get(i).getText();
-                numberButtons.get(i).setText(numberButtons.get(j).getText());
-                numberButtons.get(j).setText(tempText);
-                numberButtons.get(i).setBackground(Color.BLUE);
-                numberButtons.get(j).setBackground(Color.BLUE);
-            } catch (InterruptedException e) {
-                log.error("oh, thread was interrupted");
-                sortButton.setEnabled(true);
-                resetButton.setEnabled(true);
-            } catch (IndexOutOfBoundsException indexOutOfBoundsException) {
-                log.error("oh, there are no buttons");
-            }
+            });
         }
     }
 
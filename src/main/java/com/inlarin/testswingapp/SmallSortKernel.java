@@ -0,0 +1,25 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Partition kernel with a dedicated sort for small subarrays, which {@link QuickSort} uses
+ * instead of partitioning them further.
+ */
+interface SmallSortKernel extends PartitionKernel {
+
+    /**
+     * Returns the largest subarray size handled by {@link #smallSort}.
+     *
+     * @return the small sort limit, at least 1
+     */
+    int smallSortLimit();
+
+    /**
+     * Sorts a subarray of at most {@link #smallSortLimit()} elements.
+     *
+     * @param arr      the array of integers to be sorted
+     * @param low      the starting index of the subarray
+     * @param high     the ending index of the subarray
+     * @param listener the listener notified about every step of the sort
+     */
+    void smallSort(int[] arr, int low, int high, SortListener listener);
+}
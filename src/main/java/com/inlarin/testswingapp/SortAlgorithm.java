@@ -0,0 +1,35 @@
+package com.inlarin.testswingapp;
+
+/**
+ * An in-place sorting algorithm over a primitive int array.
+ * Implementations report every compare, swap and write to the given {@link SortListener},
+ * which lets the UI animate the sort while the algorithm itself knows nothing about Swing.
+ */
+interface SortAlgorithm {
+
+    /**
+     * Returns the human-readable name of the algorithm, shown in the UI.
+     *
+     * @return the name of the algorithm
+     */
+    String getName();
+
+    /**
+     * Sorts the whole array in place.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    void sort(int[] arr, boolean descending, SortListener listener);
+
+    /**
+     * Returns how deep the explicit stack of pending subarrays grew during the last sort of this instance.
+     * Only meaningful while the instance is not shared, the application creates one for every sort.
+     *
+     * @return the largest number of pending subarrays, 0 for algorithms without an explicit stack
+     */
+    default int lastStackDepth() {
+        return 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.inlarin.testswingapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the available sorting algorithms and helpers shared between their implementations.
+ */
+final class SortAlgorithms {
+
+    private SortAlgorithms() {
+    }
+
+    /**
+     * An algorithm offered for selection, creating a fresh instance for every sort.
+     *
+     * @param name    the name of the algorithm, shown in the UI
+     * @param factory creates a new instance of the algorithm
+     */
+    record Choice(String name, Supplier<SortAlgorithm> factory) {
+
+        /**
+         * Creates a new instance of the algorithm, which has no state in common with any other sort.
+         *
+         * @return the new instance
+         */
+        SortAlgorithm create() {
+            return factory.get();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Every available algorithm, the default one first.
+     */
+    private static final List<Choice> CHOICES = createChoices();
+
+    /**
+     * Lists every available algorithm. The choices are created once, so they can be looked up by identity.
+     *
+     * @return unmodifiable list of choices, the default one first
+     */
+    static List<Choice> choices() {
+        return CHOICES;
+    }
+
+    private static List<Choice> createChoices() {
+        List<Supplier<SortAlgorithm>> factories = new ArrayList<>(List.of(
+                AdaptiveSort::new,
+                QuickSort::new,
+                () -> new QuickSort(PartitionScheme.THREE_WAY),
+                () -> new QuickSort(PartitionScheme.BLOCK),
+                ParallelQuickSort::new,
+                PdqSort::new,
+                MergeSort::new,
+                RunMergeSort::new,
+                HeapSort::new,
+                InsertionSort::new,
+                ShellSort::new,
+                RadixSort::new,
+                CountingSort::new
+        ));
+        if (VectorSupport.isEnabled()) {
+            factories.add(4, () -> new QuickSort(PartitionScheme.VECTOR));
+        }
+        List<Choice> choices = new ArrayList<>();
+        for (Supplier<SortAlgorithm> factory : factories) {
+            choices.add(new Choice(factory.get().getName(), factory));
+        }
+        return List.copyOf(choices);
+    }
+
+    /**
+     * Creates a fresh instance of every available algorithm.
+     * Instances may keep reusable scratch state, so each caller gets its own set.
+     *
+     * @return list of algorithms, the default one first
+     */
+    static List<SortAlgorithm> all() {
+        List<SortAlgorithm> algorithms = new ArrayList<>();
+        for (Choice choice : choices()) {
+            algorithms.add(choice.create());
+        }
+        return algorithms;
+    }
+
+    /**
+     * Checks whether the first value has to be placed strictly before the second one.
+     *
+     * @param a          the first value
+     * @param b          the second value
+     * @param descending true for descending order, false for ascending order
+     * @return true if {@code a} goes before {@code b}
+     */
+    static boolean before(int a, int b, boolean descending) {
+        return descending ? a > b : a < b;
+    }
+
+    /**
+     * Swaps two elements in the array and notifies the listener.
+     *
+     * @param arr      the array in which to swap elements
+     * @param i        the index of the first element
+     * @param j        the index of the second element
+     * @param listener the listener to notify
+     */
+    static void swap(int[] arr, int i, int j, SortListener listener) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+
+        listener.onSwap(i, j);
+    }
+
+    /**
+     * Reverses the subarray {@code [low, high]} in place with {@code (high - low + 1) / 2} swaps.
+     *
+     * @param arr      the array to change
+     * @param low      the starting index of the subarray
+     * @param high     the ending index of the subarray
+     * @param listener the listener notified about every swap
+     */
+    static void reverse(int[] arr, int low, int high, SortListener listener) {
+        for (; low < high; low++, high--) {
+            swap(arr, low, high, listener);
+        }
+    }
+
+    /**
+     * Writes a value into the array and notifies the listener if the value actually changed.
+     *
+     * @param arr      the array to write into
+     * @param index    the index to write
+     * @param value    the value to write
+     * @param listener the listener to notify
+     */
+    static void write(int[] arr, int index, int value, SortListener listener) {
+        if (arr[index] != value) {
+            arr[index] = value;
+            listener.onWrite(index, value);
+        }
+    }
+
+    /**
+     * Checks whether the array is sorted in the given order.
+     *
+     * @param arr        the array to check
+     * @param descending true for descending order, false for ascending order
+     * @return true if no pair of neighbours is out of order
+     */
+    static boolean isSorted(int[] arr, boolean descending) {
+        for (int i = 1; i < arr.length; i++) {
+            if (before(arr[i], arr[i - 1], descending)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Thrown out of a running sort once its {@link CancellationToken} has been cancelled.
+ * The array is left partially sorted.
+ */
+final class SortCancelledException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     */
+    SortCancelledException() {
+        super("Sort cancelled");
+    }
+}
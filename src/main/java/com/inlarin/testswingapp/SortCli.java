@@ -0,0 +1,190 @@
+package com.inlarin.testswingapp;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line entry point that sorts generated or loaded numbers with the {@link SortEngine} and prints timing,
+ * without creating any window:
+ * <pre>
+ * java -Djava.awt.headless=true -cp target/classes com.inlarin.testswingapp.SortCli 1000000
+ * java ... SortCli --algorithm "Merge sort" --descending --repeat 5 --count-steps --file numbers.txt
+ * </pre>
+ */
+final class SortCli {
+
+    /**
+     * Exit code for a run whose result failed verification.
+     */
+    static final int EXIT_UNSORTED = 1;
+
+    /**
+     * Exit code for invalid arguments.
+     */
+    static final int EXIT_USAGE = 2;
+
+    /**
+     * Separators between the numbers of an input file.
+     */
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,;]+");
+
+    /**
+     * Describes the arguments.
+     */
+    private static final String USAGE = """
+            Usage: SortCli [options] (COUNT | --file PATH)
+              -a, --algorithm NAME  algorithm to run, default: the first of --list
+              -d, --descending      sort in descending order
+              -r, --repeat N        number of runs, each on a fresh copy of the numbers, default: 1
+              -s, --seed N          seed for generated numbers
+              -c, --count-steps     count compares, swaps and writes, slowing the sort down
+              -f, --file PATH       sort the whitespace or comma separated numbers of the file
+              -l, --list            list the algorithms and exit""";
+
+    private SortCli() {
+    }
+
+    /**
+     * Runs the command line and exits with its status.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the command line.
+     *
+     * @param args the command-line arguments
+     * @param out  the stream the results are printed to
+     * @param err  the stream errors and usage are printed to
+     * @return 0 on success, {@link #EXIT_UNSORTED} if a result was not sorted, {@link #EXIT_USAGE} for invalid arguments
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        String algorithmName = null;
+        boolean descending = false;
+        int repeat = 1;
+        Long seed = null;
+        boolean countSteps = false;
+        Path file = null;
+        Integer count = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-a", "--algorithm" -> algorithmName = value(args, ++i);
+                    case "-d", "--descending" -> descending = true;
+                    case "-r", "--repeat" -> repeat = Integer.parseInt(value(args, ++i));
+                    case "-s", "--seed" -> seed = Long.parseLong(value(args, ++i));
+                    case "-c", "--count-steps" -> countSteps = true;
+                    case "-f", "--file" -> file = Path.of(value(args, ++i));
+                    case "-l", "--list" -> {
+                        SortAlgorithms.all().forEach(algorithm -> out.println(algorithm.getName()));
+                        return 0;
+                    }
+                    default -> count = Integer.parseInt(args[i]);
+                }
+            }
+            if ((count == null) == (file == null) || repeat < 1 || (count != null && count < 0)) {
+                throw new IllegalArgumentException("Expected a non-negative count or a file, and at least one run");
+            }
+
+            SortAlgorithm algorithm = algorithm(algorithmName);
+            int[] numbers;
+            if (file != null) {
+                numbers = load(file);
+            } else {
+                numbers = new SortEngine(seed == null ? new Random() : new Random(seed)).generateRandomNumbers(count);
+            }
+
+            boolean allSorted = true;
+            long best = Long.MAX_VALUE;
+            for (int run = 1; run <= repeat; run++) {
+                SortMetrics metrics = SortEngine.measure(numbers.clone(), algorithm, descending, countSteps);
+                best = Math.min(best, metrics.nanos());
+                allSorted &= metrics.sorted();
+                out.println(format(run, metrics, countSteps));
+            }
+            if (repeat > 1) {
+                out.printf(Locale.ROOT, "best: %.3f ms%n", best / 1_000_000.0);
+            }
+            return allSorted ? 0 : EXIT_UNSORTED;
+        } catch (IllegalArgumentException | IOException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+    }
+
+    /**
+     * Formats the measurements of one run as a single line.
+     *
+     * @param run        the number of the run, starting at 1
+     * @param metrics    the measurements
+     * @param countSteps whether steps were counted
+     * @return the line
+     */
+    static String format(int run, SortMetrics metrics, boolean countSteps) {
+        String line = String.format(Locale.ROOT, "run %d: %s sorted %d numbers in %.3f ms, %s", run,
+                metrics.algorithm(), metrics.size(), metrics.millis(), metrics.sorted() ? "verified" : "NOT SORTED");
+        if (countSteps) {
+            line += String.format(Locale.ROOT, ", %d compares, %d swaps, %d writes, %d partitions",
+                    metrics.compares(), metrics.swaps(), metrics.writes(), metrics.partitions());
+        }
+        return line;
+    }
+
+    /**
+     * Finds an algorithm by its name, ignoring case.
+     *
+     * @param name the name, or null for the default algorithm
+     * @return the algorithm
+     * @throws IllegalArgumentException if no algorithm has that name
+     */
+    static SortAlgorithm algorithm(String name) {
+        List<SortAlgorithm> algorithms = SortAlgorithms.all();
+        if (name == null) {
+            return algorithms.get(0);
+        }
+        return algorithms.stream()
+                .filter(algorithm -> algorithm.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm: " + name));
+    }
+
+    /**
+     * Reads the numbers of a file, separated by whitespace, commas or semicolons.
+     *
+     * @param file the file
+     * @return the numbers
+     * @throws IOException if the file cannot be read
+     */
+    static int[] load(Path file) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(Files.readString(file).strip())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        int[] numbers = new int[tokens.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = Integer.parseInt(tokens.get(i));
+        }
+        return numbers;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,143 @@
+package com.inlarin.testswingapp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generation, sorting, verification and measurement of numbers, without any user interface.
+ * Nothing here touches AWT or Swing, so the engine runs on a headless JVM, in batch jobs and in benchmarks;
+ * {@link SimpleSPA} is a view on top of it and {@link SortCli} runs it from the command line.
+ */
+final class SortEngine {
+
+    /**
+     * Numbers up to this value reset the array when clicked, at least one such number is always generated.
+     */
+    static final int ARRAY_SPECIFIC_ELEMENT = 30;
+
+    /**
+     * The minimum value that can be generated.
+     */
+    static final int ARRAY_MIN_NUMBER = 1;
+
+    /**
+     * The maximum value that can be generated.
+     */
+    static final int ARRAY_MAX_NUMBER = 1000;
+
+    /**
+     * Source of the generated numbers.
+     */
+    private final Random rand;
+
+    /**
+     * Creates an engine generating different numbers on every run.
+     */
+    SortEngine() {
+        this(new Random());
+    }
+
+    /**
+     * Creates an engine generating numbers from the given source, for reproducible runs.
+     *
+     * @param rand the source of the generated numbers
+     */
+    SortEngine(Random rand) {
+        this.rand = rand;
+    }
+
+    /**
+     * Generates an array of random numbers between {@value #ARRAY_MIN_NUMBER} and {@value #ARRAY_MAX_NUMBER}.
+     * Ensures that at least one number is less than or equal to {@value #ARRAY_SPECIFIC_ELEMENT}.
+     *
+     * @param count the number of random numbers to generate
+     * @return an array of random integers
+     */
+    int[] generateRandomNumbers(int count) {
+        int[] numbers = new int[count];
+        boolean hasLowNumber = false;
+
+        for (int i = 0; i < count; i++) {
+            numbers[i] = rand.nextInt(ARRAY_MAX_NUMBER) + ARRAY_MIN_NUMBER;
+            if (numbers[i] <= ARRAY_SPECIFIC_ELEMENT) {
+                hasLowNumber = true;
+            }
+        }
+
+        if (!hasLowNumber && count > 0) {
+            numbers[rand.nextInt(count)] = rand.nextInt(ARRAY_SPECIFIC_ELEMENT) + ARRAY_MIN_NUMBER;
+        }
+
+        return numbers;
+    }
+
+    /**
+     * Sorts the numbers in the requested order, using what is known about their current order:
+     * numbers already in that order are left alone, and numbers sorted the other way are reversed
+     * with n/2 swaps instead of being sorted again. Otherwise the given algorithm sorts them,
+     * and the run is recorded in the {@link SortStats}.
+     *
+     * @param arr        the numbers to sort
+     * @param known      what is known about the current order of the numbers
+     * @param algorithm  the algorithm used if the numbers have to be sorted
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @return the order of the numbers afterwards
+     */
+    static SortOrder sort(int[] arr, SortOrder known, SortAlgorithm algorithm, boolean descending,
+                          SortListener listener) {
+        SortOrder target = SortOrder.of(descending);
+        if (known == target.reversed()) {
+            SortAlgorithms.reverse(arr, 0, arr.length - 1, listener);
+        } else if (known != target) {
+            SortStats.get().sort(algorithm, arr, descending, listener);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the result is the input in the requested order: ordered, and holding the same numbers.
+     *
+     * @param original   the numbers before the sort
+     * @param sorted     the numbers after the sort
+     * @param descending true if they were sorted in descending order, false for ascending order
+     * @return true if the result is correct
+     */
+    static boolean verify(int[] original, int[] sorted, boolean descending) {
+        if (original.length != sorted.length || !SortAlgorithms.isSorted(sorted, descending)) {
+            return false;
+        }
+        int[] expected = original.clone();
+        int[] actual = sorted.clone();
+        Arrays.sort(expected);
+        Arrays.sort(actual);
+        return Arrays.equals(expected, actual);
+    }
+
+    /**
+     * Sorts the numbers with the algorithm, timing and verifying the sort, and records the run in the {@link SortStats}.
+     *
+     * @param arr        the numbers to sort, sorted in place
+     * @param algorithm  the algorithm to run
+     * @param descending true to sort in descending order, false for ascending order
+     * @param countSteps true to count the steps of the sort, which slows it down,
+     *                   false to time it without any listener
+     * @return the measurements
+     */
+    static SortMetrics measure(int[] arr, SortAlgorithm algorithm, boolean descending, boolean countSteps) {
+        int[] original = arr.clone();
+        StepCounter counter = new StepCounter();
+        SortListener listener = countSteps ? counter : SortListener.NONE;
+
+        AdaptiveSort.Decision previousDecision = SortStats.lastDecision(algorithm);
+        long start = System.nanoTime();
+        algorithm.sort(arr, descending, listener);
+        long nanos = System.nanoTime() - start;
+
+        SortStats.get().recordDecision(previousDecision, SortStats.lastDecision(algorithm));
+        SortMetrics metrics = new SortMetrics(algorithm.getName(), arr.length, nanos, counter.getCompares(),
+                counter.getSwaps(), counter.getWrites(), counter.getPartitions(), verify(original, arr, descending));
+        SortStats.get().record(metrics, algorithm.lastStackDepth());
+        return metrics;
+    }
+}
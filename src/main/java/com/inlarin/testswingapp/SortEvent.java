@@ -0,0 +1,60 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one sort run by the {@link SortEngine}, from its start to its end or cancellation.
+ * Sorts are rare, so every one of them is recorded.
+ */
+@Name("com.inlarin.testswingapp.Sort")
+@Label("Sort")
+@Category({"Sort Visualizer", "Sort"})
+@Description("A sort of the numbers, from start to end")
+final class SortEvent extends Event {
+
+    /**
+     * Name of the algorithm.
+     */
+    @Label("Algorithm")
+    String algorithm;
+
+    /**
+     * Number of sorted elements.
+     */
+    @Label("Element Count")
+    int count;
+
+    /**
+     * Requested order, ascending or descending.
+     */
+    @Label("Order")
+    String order;
+
+    /**
+     * Number of reported compares, 0 if the sort was not observed.
+     */
+    @Label("Compares")
+    long compares;
+
+    /**
+     * Number of reported swaps, 0 if the sort was not observed.
+     */
+    @Label("Swaps")
+    long swaps;
+
+    /**
+     * Number of reported writes, 0 if the sort was not observed.
+     */
+    @Label("Writes")
+    long writes;
+
+    /**
+     * Whether the sort was stopped by cancellation.
+     */
+    @Label("Cancelled")
+    boolean cancelled;
+}
@@ -0,0 +1,103 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Receives the individual steps performed by a {@link SortAlgorithm}.
+ * All methods are called after the array has already been changed, on the thread that runs the sort.
+ * Every method has an empty default implementation, so listeners only override the steps they are interested in.
+ */
+interface SortListener {
+
+    /**
+     * Listener that ignores every step, used when nobody needs to observe the sort.
+     */
+    SortListener NONE = new SortListener() {
+        @Override
+        public boolean observesSteps() {
+            return false;
+        }
+    };
+
+    /**
+     * Called when the algorithm compares the elements at two indices.
+     *
+     * @param i the index of the first compared element
+     * @param j the index of the second compared element
+     */
+    default void onCompare(int i, int j) {
+    }
+
+    /**
+     * Called when the algorithm swaps the elements at two indices.
+     *
+     * @param i the index of the first swapped element
+     * @param j the index of the second swapped element
+     */
+    default void onSwap(int i, int j) {
+    }
+
+    /**
+     * Called when the algorithm writes a value into the array directly (e.g. merge or radix passes).
+     *
+     * @param index the index that was written
+     * @param value the new value at that index
+     */
+    default void onWrite(int index, int value) {
+    }
+
+    /**
+     * Called when the algorithm starts working on a range, such as a partition, a merge or a pass over the array.
+     * Calls are frequent enough to bound the work between them, so a listener may stop the sort here
+     * by throwing a {@link SortCancelledException}.
+     *
+     * @param low  the first index of the range
+     * @param high the last index of the range
+     */
+    default void onPartition(int low, int high) {
+    }
+
+    /**
+     * Tells whether the listener needs the compares, swaps and writes of the sort. If it does not, sorts may skip
+     * reporting them and take their unobserved fast paths, but they still report every range to
+     * {@link #onPartition(int, int)}, where a cancelled sort is stopped.
+     *
+     * @return true if steps have to be reported, false for {@link #NONE} and listeners that only watch the ranges
+     */
+    default boolean observesSteps() {
+        return true;
+    }
+
+    /**
+     * Wraps the listener so that steps reported from several threads reach it one at a time.
+     * A listener that does not observe steps is returned unchanged, its {@link #onPartition(int, int)}
+     * must then be safe to call from several threads.
+     *
+     * @param listener the listener to wrap
+     * @return a listener that serializes all calls, or the listener itself if it does not observe steps
+     */
+    static SortListener synchronizedListener(SortListener listener) {
+        if (!listener.observesSteps()) {
+            return listener;
+        }
+        return new SortListener() {
+            @Override
+            public synchronized void onCompare(int i, int j) {
+                listener.onCompare(i, j);
+            }
+
+            @Override
+            public synchronized void onSwap(int i, int j) {
+                listener.onSwap(i, j);
+            }
+
+            @Override
+            public synchronized void onWrite(int index, int value) {
+                listener.onWrite(index, value);
+            }
+
+            @Override
+            public synchronized void onPartition(int low, int high) {
+                listener.onPartition(low, high);
+            }
+        };
+    }
+}
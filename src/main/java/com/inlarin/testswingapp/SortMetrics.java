@@ -0,0 +1,26 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Measurements of one sort run by the {@link SortEngine}.
+ *
+ * @param algorithm  the name of the algorithm
+ * @param size       the number of sorted elements
+ * @param nanos      the wall time of the sort in nanoseconds
+ * @param compares   the number of reported compares, 0 if steps were not counted
+ * @param swaps      the number of reported swaps, 0 if steps were not counted
+ * @param writes     the number of reported writes, 0 if steps were not counted
+ * @param partitions the number of reported ranges, 0 if steps were not counted
+ * @param sorted     whether the result was verified to be the sorted input
+ */
+record SortMetrics(String algorithm, int size, long nanos, long compares, long swaps, long writes, long partitions,
+                   boolean sorted) {
+
+    /**
+     * Returns the wall time of the sort.
+     *
+     * @return the time in milliseconds
+     */
+    double millis() {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+/**
+ * Ways the "Sort" button shows a sort: step by step while it runs, recorded first and then played on a timeline,
+ * or instantly with a single model update.
+ */
+@Getter
+enum SortMode {
+
+    ANIMATED("Animated"),
+    RECORDED("Recorded"),
+    INSTANT("Instant");
+
+    /**
+     * Name of the mode, shown in the UI.
+     */
+    private final String label;
+
+    SortMode(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
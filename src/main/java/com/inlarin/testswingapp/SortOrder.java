@@ -0,0 +1,47 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Order the displayed numbers are known to be in.
+ * Sorting records the order it produced, and anything that replaces the numbers forgets it,
+ * so a later sort can skip work that was already done.
+ */
+enum SortOrder {
+
+    /**
+     * Nothing is known about the order of the numbers.
+     */
+    UNSORTED,
+
+    /**
+     * The numbers are sorted in ascending order.
+     */
+    ASCENDING,
+
+    /**
+     * The numbers are sorted in descending order.
+     */
+    DESCENDING;
+
+    /**
+     * Returns the order produced by sorting in the given direction.
+     *
+     * @param descending true for descending order, false for ascending order
+     * @return {@link #DESCENDING} or {@link #ASCENDING}
+     */
+    static SortOrder of(boolean descending) {
+        return descending ? DESCENDING : ASCENDING;
+    }
+
+    /**
+     * Returns the order of the same numbers after reversing them.
+     *
+     * @return the opposite order, or {@link #UNSORTED} if the order is not known
+     */
+    SortOrder reversed() {
+        return switch (this) {
+            case ASCENDING -> DESCENDING;
+            case DESCENDING -> ASCENDING;
+            default -> UNSORTED;
+        };
+    }
+}
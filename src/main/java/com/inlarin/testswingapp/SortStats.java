@@ -0,0 +1,475 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.EventType;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the work of every sort run by the {@link SortEngine} and every frame played by the
+ * {@link AnimationScheduler}, and publishes the totals over JMX through {@link SortStatsMXBean}.
+ * A sort counts its steps in a plain {@link StepCounter} of its own and adds them to the shared striped
+ * {@link LongAdder}s once it is done, so concurrent sorts never contend on a counter while they run.
+ * Steps are only counted for sorts whose listener {@linkplain SortListener#observesSteps() observes them} anyway:
+ * an unobserved sort, such as an instant sort guarded by a {@link CancellationToken}, keeps its fast paths
+ * and only its wall time, size and stack depth are recorded. The order of every result is checked.
+ * The routes chosen by an {@link AdaptiveSort} are counted as well, since the application creates
+ * a new one for every sort.
+ * Every sort is also recorded as a {@link SortEvent} for Flight Recorder, and the ranges of observed sorts
+ * as {@link PartitionBatchEvent}s, which are not even allocated while Flight Recorder does not record them.
+ * Thread-safe.
+ */
+@Slf4j
+final class SortStats implements SortStatsMXBean {
+
+    /**
+     * Name the statistics of the application are registered under.
+     */
+    static final String OBJECT_NAME = "com.inlarin.testswingapp:type=SortEngine";
+
+    /**
+     * Number of wall time buckets, bucket b counting sorts shorter than 2^b microseconds.
+     */
+    static final int HISTOGRAM_BUCKETS = 32;
+
+    /**
+     * Number of ranges recorded by a single {@link PartitionBatchEvent}.
+     */
+    static final int PARTITION_BATCH = 1024;
+
+    /**
+     * Type of the {@link PartitionBatchEvent}, checked before a batch is started.
+     */
+    private static final EventType PARTITION_BATCH_TYPE = EventType.getEventType(PartitionBatchEvent.class);
+
+    /**
+     * Completed sorts.
+     */
+    private final LongAdder sorts = new LongAdder();
+
+    /**
+     * Cancelled sorts.
+     */
+    private final LongAdder cancelledSorts = new LongAdder();
+
+    /**
+     * Elements of the completed sorts.
+     */
+    private final LongAdder elements = new LongAdder();
+
+    /**
+     * Counted compares.
+     */
+    private final LongAdder compares = new LongAdder();
+
+    /**
+     * Counted swaps.
+     */
+    private final LongAdder swaps = new LongAdder();
+
+    /**
+     * Counted writes.
+     */
+    private final LongAdder writes = new LongAdder();
+
+    /**
+     * Counted partitions.
+     */
+    private final LongAdder partitions = new LongAdder();
+
+    /**
+     * Deepest explicit stack of any sort, read from the algorithm once it is done.
+     */
+    private final LongAccumulator maxStackDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Completed sorts whose result was out of order.
+     */
+    private final LongAdder unsortedResults = new LongAdder();
+
+    /**
+     * Inputs the adaptive sort sent along every route.
+     */
+    private final Map<AdaptiveSort.Route, LongAdder> adaptiveRoutes = new EnumMap<>(AdaptiveSort.Route.class);
+
+    /**
+     * Wall time of the completed sorts in nanoseconds.
+     */
+    private final LongAdder totalTimeNanos = new LongAdder();
+
+    /**
+     * Played animation frames.
+     */
+    private final LongAdder frames = new LongAdder();
+
+    /**
+     * Wall time histogram of every algorithm, by algorithm name.
+     */
+    private final Map<String, LongAdder[]> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Creates empty statistics.
+     */
+    SortStats() {
+        for (AdaptiveSort.Route route : AdaptiveSort.Route.values()) {
+            adaptiveRoutes.put(route, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns the statistics of the application, registered in the platform MBean server on first use.
+     *
+     * @return the shared statistics
+     */
+    static SortStats get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Sorts the numbers with the algorithm and records the run.
+     *
+     * @param algorithm  the algorithm to run
+     * @param arr        the numbers to sort
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     * @throws SortCancelledException if the listener cancelled the sort, which is then counted as cancelled
+     */
+    void sort(SortAlgorithm algorithm, int[] arr, boolean descending, SortListener listener) {
+        SortEvent event = new SortEvent();
+        event.begin();
+        StepCounter counter = new StepCounter();
+        CountingListener counting = null;
+        if (listener.observesSteps()) {
+            counting = new CountingListener(listener, counter, algorithm.getName(), SortOrder.of(descending),
+                    arr.length);
+        }
+        AdaptiveSort.Decision previousDecision = lastDecision(algorithm);
+        long start = System.nanoTime();
+        try {
+            algorithm.sort(arr, descending, counting == null ? listener : counting);
+        } catch (SortCancelledException e) {
+            cancelledSorts.increment();
+            event.cancelled = true;
+            throw e;
+        } finally {
+            if (counting != null) {
+                counting.commitBatch();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm.getName();
+                event.count = arr.length;
+                event.order = SortOrder.of(descending).name();
+                event.compares = counter.getCompares();
+                event.swaps = counter.getSwaps();
+                event.writes = counter.getWrites();
+                event.commit();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        recordDecision(previousDecision, lastDecision(algorithm));
+        record(new SortMetrics(algorithm.getName(), arr.length, nanos, counter.getCompares(), counter.getSwaps(),
+                counter.getWrites(), counter.getPartitions(), SortAlgorithms.isSorted(arr, descending)),
+                algorithm.lastStackDepth());
+    }
+
+    /**
+     * Records a completed sort.
+     *
+     * @param metrics    the measurements of the sort
+     * @param stackDepth the deepest explicit stack of the sort
+     */
+    void record(SortMetrics metrics, int stackDepth) {
+        sorts.increment();
+        elements.add(metrics.size());
+        compares.add(metrics.compares());
+        swaps.add(metrics.swaps());
+        writes.add(metrics.writes());
+        partitions.add(metrics.partitions());
+        maxStackDepth.accumulate(stackDepth);
+        if (!metrics.sorted()) {
+            unsortedResults.increment();
+            log.warn("{} left {} numbers out of order", metrics.algorithm(), metrics.size());
+        }
+        totalTimeNanos.add(metrics.nanos());
+        histograms.computeIfAbsent(metrics.algorithm(), name -> newHistogram())[bucket(metrics.nanos())].increment();
+    }
+
+    /**
+     * Counts the route of the decision an adaptive sort took, unless the sort took none, such as for a single element,
+     * and its last decision is still the previous one.
+     *
+     * @param previous the last decision of the algorithm before the sort, see {@link #lastDecision(SortAlgorithm)}
+     * @param decision the last decision of the algorithm after the sort
+     */
+    void recordDecision(AdaptiveSort.Decision previous, AdaptiveSort.Decision decision) {
+        if (decision != null && decision != previous) {
+            adaptiveRoutes.get(decision.route()).increment();
+        }
+    }
+
+    /**
+     * Returns the last decision of an adaptive sort.
+     *
+     * @param algorithm any algorithm
+     * @return the last decision, null if the algorithm is not an {@link AdaptiveSort} or has not sorted yet
+     */
+    static AdaptiveSort.Decision lastDecision(SortAlgorithm algorithm) {
+        return algorithm instanceof AdaptiveSort adaptive ? adaptive.getLastDecision() : null;
+    }
+
+    /**
+     * Records a played animation frame.
+     */
+    void recordFrame() {
+        frames.increment();
+    }
+
+    /**
+     * Returns the histogram bucket of a wall time.
+     *
+     * @param nanos the wall time in nanoseconds
+     * @return the first bucket whose limit is above the time
+     */
+    static int bucket(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    @Override
+    public long getSorts() {
+        return sorts.sum();
+    }
+
+    @Override
+    public long getCancelledSorts() {
+        return cancelledSorts.sum();
+    }
+
+    @Override
+    public long getElements() {
+        return elements.sum();
+    }
+
+    @Override
+    public long getCompares() {
+        return compares.sum();
+    }
+
+    @Override
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    @Override
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    @Override
+    public long getPartitions() {
+        return partitions.sum();
+    }
+
+    @Override
+    public long getMaxStackDepth() {
+        return maxStackDepth.get();
+    }
+
+    @Override
+    public long getUnsortedResults() {
+        return unsortedResults.sum();
+    }
+
+    @Override
+    public Map<String, Long> getAdaptiveRoutes() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        adaptiveRoutes.forEach((route, count) -> result.put(route.name(), count.sum()));
+        return result;
+    }
+
+    @Override
+    public long getTotalTimeNanos() {
+        return totalTimeNanos.sum();
+    }
+
+    @Override
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    @Override
+    public long[] getHistogramLimitsMicros() {
+        long[] limits = new long[HISTOGRAM_BUCKETS];
+        for (int b = 0; b < HISTOGRAM_BUCKETS - 1; b++) {
+            limits[b] = 1L << b;
+        }
+        limits[HISTOGRAM_BUCKETS - 1] = Long.MAX_VALUE;
+        return limits;
+    }
+
+    @Override
+    public Map<String, long[]> getTimeHistograms() {
+        Map<String, long[]> result = new TreeMap<>();
+        histograms.forEach((name, buckets) -> {
+            long[] counts = new long[buckets.length];
+            for (int b = 0; b < buckets.length; b++) {
+                counts[b] = buckets[b].sum();
+            }
+            result.put(name, counts);
+        });
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[]{sorts, cancelledSorts, elements, compares, swaps, writes, partitions,
+                unsortedResults, totalTimeNanos, frames}) {
+            adder.reset();
+        }
+        adaptiveRoutes.values().forEach(LongAdder::reset);
+        maxStackDepth.reset();
+        histograms.clear();
+    }
+
+    private static LongAdder[] newHistogram() {
+        LongAdder[] buckets = new LongAdder[HISTOGRAM_BUCKETS];
+        for (int b = 0; b < buckets.length; b++) {
+            buckets[b] = new LongAdder();
+        }
+        return buckets;
+    }
+
+    /**
+     * Passes every step of an observed sort to its listener after counting it,
+     * and records its ranges as {@link PartitionBatchEvent}s.
+     * Parallel sorts serialize the steps they report, so no call overlaps another.
+     */
+    private static final class CountingListener implements SortListener {
+
+        /**
+         * The listener observing the sort.
+         */
+        private final SortListener listener;
+
+        /**
+         * The counter of the sort.
+         */
+        private final StepCounter counter;
+
+        /**
+         * Name of the algorithm.
+         */
+        private final String algorithm;
+
+        /**
+         * Order the numbers are sorted into.
+         */
+        private final SortOrder order;
+
+        /**
+         * Number of elements being sorted.
+         */
+        private final int count;
+
+        /**
+         * The batch of ranges being recorded, null before the first range of a batch
+         * and while batches are not recorded.
+         */
+        private PartitionBatchEvent batch;
+
+        /**
+         * Creates a counting listener.
+         *
+         * @param listener  the listener observing the sort
+         * @param counter   the counter of the sort
+         * @param algorithm the name of the algorithm
+         * @param order     the order the numbers are sorted into
+         * @param count     the number of elements being sorted
+         */
+        CountingListener(SortListener listener, StepCounter counter, String algorithm, SortOrder order, int count) {
+            this.listener = listener;
+            this.counter = counter;
+            this.algorithm = algorithm;
+            this.order = order;
+            this.count = count;
+        }
+
+        @Override
+        public void onCompare(int i, int j) {
+            counter.onCompare(i, j);
+            listener.onCompare(i, j);
+        }
+
+        @Override
+        public void onSwap(int i, int j) {
+            counter.onSwap(i, j);
+            listener.onSwap(i, j);
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            counter.onWrite(index, value);
+            listener.onWrite(index, value);
+        }
+
+        @Override
+        public void onPartition(int low, int high) {
+            counter.onPartition(low, high);
+            if (batch == null && PARTITION_BATCH_TYPE.isEnabled()) {
+                batch = new PartitionBatchEvent();
+                batch.begin();
+            }
+            if (batch != null) {
+                batch.partitions++;
+                batch.elements += high - low + 1;
+                if (batch.partitions == PARTITION_BATCH) {
+                    commitBatch();
+                }
+            }
+            listener.onPartition(low, high);
+        }
+
+        /**
+         * Records the ranges reported since the last batch, if any.
+         */
+        void commitBatch() {
+            if (batch != null) {
+                batch.algorithm = algorithm;
+                batch.order = order.name();
+                batch.count = count;
+                batch.commit();
+                batch = null;
+            }
+        }
+    }
+
+    /**
+     * Creates and registers the shared statistics on first use.
+     */
+    private static final class Holder {
+
+        /**
+         * The shared statistics.
+         */
+        static final SortStats INSTANCE = register(new SortStats());
+
+        private static SortStats register(SortStats stats) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(stats, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                log.warn("Sort statistics could not be registered as {}", OBJECT_NAME, e);
+            }
+            return stats;
+        }
+    }
+}
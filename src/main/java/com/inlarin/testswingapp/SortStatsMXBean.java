@@ -0,0 +1,114 @@
+package com.inlarin.testswingapp;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link SortStats}, registered as {@value SortStats#OBJECT_NAME}
+ * in the platform MBean server, so JConsole, VisualVM or any JMX client can read it from a running application.
+ * Totals cover every sort since the start or the last {@link #reset()}.
+ */
+public interface SortStatsMXBean {
+
+    /**
+     * Returns the number of completed sorts.
+     *
+     * @return the number of sorts
+     */
+    long getSorts();
+
+    /**
+     * Returns the number of sorts stopped by cancellation.
+     *
+     * @return the number of cancelled sorts
+     */
+    long getCancelledSorts();
+
+    /**
+     * Returns the number of sorted elements over all completed sorts.
+     *
+     * @return the number of elements
+     */
+    long getElements();
+
+    /**
+     * Returns the number of compares over all counted sorts.
+     *
+     * @return the number of compares
+     */
+    long getCompares();
+
+    /**
+     * Returns the number of swaps over all counted sorts.
+     *
+     * @return the number of swaps
+     */
+    long getSwaps();
+
+    /**
+     * Returns the number of direct writes over all counted sorts.
+     *
+     * @return the number of writes
+     */
+    long getWrites();
+
+    /**
+     * Returns the number of partitions, merges and passes over all counted sorts.
+     *
+     * @return the number of partitions
+     */
+    long getPartitions();
+
+    /**
+     * Returns the deepest explicit stack of pending subarrays of any sort.
+     *
+     * @return the largest number of pending subarrays
+     */
+    long getMaxStackDepth();
+
+    /**
+     * Returns the number of completed sorts whose result was found out of the requested order.
+     *
+     * @return the number of failed sorts
+     */
+    long getUnsortedResults();
+
+    /**
+     * Returns how many inputs the adaptive sort sent along each of its routes.
+     *
+     * @return the number of decisions, by route name
+     */
+    Map<String, Long> getAdaptiveRoutes();
+
+    /**
+     * Returns the wall time of all completed sorts.
+     *
+     * @return the time in nanoseconds
+     */
+    long getTotalTimeNanos();
+
+    /**
+     * Returns the number of animation frames played.
+     *
+     * @return the number of frames
+     */
+    long getFrames();
+
+    /**
+     * Returns the exclusive upper limits of the wall time buckets of the histograms, the last one being unbounded.
+     *
+     * @return the limits in microseconds
+     */
+    long[] getHistogramLimitsMicros();
+
+    /**
+     * Returns the wall time histogram of every algorithm that completed a sort.
+     *
+     * @return the number of sorts per bucket of {@link #getHistogramLimitsMicros()}, by algorithm name
+     */
+    Map<String, long[]> getTimeHistograms();
+
+    /**
+     * Sets all counters and histograms back to zero.
+     */
+    void reset();
+}
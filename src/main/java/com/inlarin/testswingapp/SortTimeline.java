@@ -0,0 +1,276 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Seekable position in a {@link SortTrace}: steps forward and backward one step at a time and jumps to any step.
+ * Every {@link #getInterval()} steps a keyframe keeps a snapshot of the numbers and the decoder state,
+ * so a jump restores the nearest keyframe before the target and replays at most one interval, costing O(K + n)
+ * instead of replaying from the start. The interval is chosen so that all snapshots fit into a byte budget.
+ * Stepping backward decodes the interval holding the previous step once and takes its steps back in reverse order.
+ * Not thread-safe.
+ */
+final class SortTimeline {
+
+    /**
+     * Default memory budget for the keyframe snapshots, in bytes.
+     */
+    static final long DEFAULT_KEYFRAME_BUDGET = 64L << 20;
+
+    /**
+     * Smallest number of steps between keyframes, keyframes closer than that save too little replay to pay off.
+     */
+    static final int MIN_INTERVAL = 256;
+
+    /**
+     * The trace the timeline moves in.
+     */
+    private final SortTrace trace;
+
+    /**
+     * Number of steps of the trace.
+     */
+    @Getter
+    private final long length;
+
+    /**
+     * Number of steps between keyframes.
+     */
+    @Getter
+    private final int interval;
+
+    /**
+     * The numbers at every keyframe, keyframe k is taken before step k * interval.
+     */
+    private final int[][] keyframeValues;
+
+    /**
+     * The offset of the first step after every keyframe.
+     */
+    private final int[] keyframePositions;
+
+    /**
+     * The first index of the step before every keyframe.
+     */
+    private final int[] keyframePreviousIndices;
+
+    /**
+     * The numbers after the steps before {@link #step}.
+     */
+    private final int[] values;
+
+    /**
+     * Decoder positioned at {@link #step}.
+     */
+    private final SortTrace.Cursor cursor;
+
+    /**
+     * Number of steps taken from the start, the current position.
+     */
+    @Getter
+    private long step;
+
+    /**
+     * Interval whose steps are decoded in the block arrays, -1 if none.
+     */
+    private long block = -1;
+
+    /**
+     * Kinds of the steps of the decoded interval.
+     */
+    private byte[] blockKinds = new byte[0];
+
+    /**
+     * First indices of the steps of the decoded interval.
+     */
+    private int[] blockFirsts = new int[0];
+
+    /**
+     * Operands of the steps of the decoded interval.
+     */
+    private int[] blockOperands = new int[0];
+
+    /**
+     * Offsets of the steps of the decoded interval.
+     */
+    private int[] blockPositions = new int[0];
+
+    /**
+     * Creates a timeline at the start of the trace with the default keyframe budget.
+     *
+     * @param trace the trace to move in
+     */
+    SortTimeline(SortTrace trace) {
+        this(trace, DEFAULT_KEYFRAME_BUDGET);
+    }
+
+    /**
+     * Creates a timeline at the start of the trace, taking keyframes as often as the budget allows.
+     * The first keyframe, the initial numbers, is always kept.
+     *
+     * @param trace          the trace to move in
+     * @param keyframeBudget the memory budget for the keyframe snapshots, in bytes
+     */
+    SortTimeline(SortTrace trace, long keyframeBudget) {
+        if (keyframeBudget < 0) {
+            throw new IllegalArgumentException("Keyframe budget must not be negative, got " + keyframeBudget);
+        }
+        this.trace = trace;
+        this.length = trace.steps();
+        long keyframeBytes = Math.max(1L, 4L * trace.size());
+        long maxKeyframes = Math.max(1L, keyframeBudget / keyframeBytes);
+        this.interval = (int) Math.max(MIN_INTERVAL, length / maxKeyframes + 1);
+
+        int keyframes = (int) (length / interval + 1);
+        keyframeValues = new int[keyframes][];
+        keyframePositions = new int[keyframes];
+        keyframePreviousIndices = new int[keyframes];
+
+        values = trace.initialValues();
+        cursor = trace.cursorAt(0, 0);
+        for (int k = 0; k < keyframes; k++) {
+            if (k > 0) {
+                for (int i = 0; i < interval; i++) {
+                    SortTrace.apply(values, cursor.advance(), cursor.first(), cursor.operand(), SortListener.NONE);
+                }
+            }
+            keyframeValues[k] = values.clone();
+            keyframePositions[k] = cursor.position();
+            keyframePreviousIndices[k] = cursor.previousIndex();
+        }
+        restore(0);
+    }
+
+    /**
+     * Returns the number of kept keyframes.
+     *
+     * @return the number of keyframes, at least 1
+     */
+    int keyframeCount() {
+        return keyframeValues.length;
+    }
+
+    /**
+     * Returns the memory taken by the keyframe snapshots.
+     *
+     * @return the size of the snapshots in bytes
+     */
+    long keyframeBytes() {
+        return 4L * trace.size() * keyframeValues.length;
+    }
+
+    /**
+     * Returns the number at the given index after the steps taken so far.
+     *
+     * @param index the index
+     * @return the number
+     */
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the numbers after the steps taken so far.
+     *
+     * @return a copy of the numbers
+     */
+    int[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Takes the next step and reports it to the listener.
+     *
+     * @param listener the listener to notify
+     * @return false if the timeline was already at the end
+     */
+    boolean stepForward(SortListener listener) {
+        if (step == length) {
+            return false;
+        }
+        SortTrace.apply(values, cursor.advance(), cursor.first(), cursor.operand(), listener);
+        step++;
+        return true;
+    }
+
+    /**
+     * Takes the previous step back and reports the inverse step to the listener.
+     *
+     * @param listener the listener to notify
+     * @return false if the timeline was already at the start
+     */
+    boolean stepBackward(SortListener listener) {
+        if (step == 0) {
+            return false;
+        }
+        long target = step - 1;
+        long targetBlock = target / interval;
+        decodeBlock(targetBlock);
+        int k = (int) (target - targetBlock * interval);
+        SortTrace.undo(values, blockKinds[k], blockFirsts[k], blockOperands[k], listener);
+        int previousIndex = k == 0 ? keyframePreviousIndices[(int) targetBlock] : blockFirsts[k - 1];
+        cursor.moveTo(blockPositions[k], previousIndex);
+        step = target;
+        return true;
+    }
+
+    /**
+     * Moves to the given step. Targets within one interval are reached step by step and every step is reported
+     * to the listener; farther targets are reached through the nearest keyframe without reporting anything,
+     * the numbers then have to be read again with {@link #toArray()}.
+     *
+     * @param target   the number of steps from the start
+     * @param listener the listener to notify
+     * @return true if every step in between was reported, false if the timeline jumped
+     */
+    boolean seek(long target, SortListener listener) {
+        if (target < 0 || target > length) {
+            throw new IllegalArgumentException("Step " + target + " is outside of 0.." + length);
+        }
+        if (Math.abs(target - step) <= interval) {
+            while (step < target) {
+                stepForward(listener);
+            }
+            while (step > target) {
+                stepBackward(listener);
+            }
+            return true;
+        }
+        restore((int) (target / interval));
+        while (step < target) {
+            stepForward(SortListener.NONE);
+        }
+        return false;
+    }
+
+    private void restore(int keyframe) {
+        int[] snapshot = keyframeValues[keyframe];
+        System.arraycopy(snapshot, 0, values, 0, snapshot.length);
+        cursor.moveTo(keyframePositions[keyframe], keyframePreviousIndices[keyframe]);
+        step = (long) keyframe * interval;
+    }
+
+    private void decodeBlock(long index) {
+        if (block == index) {
+            return;
+        }
+        int count = (int) Math.min(interval, length - index * interval);
+        if (blockKinds.length < count) {
+            int capacity = Math.min(interval, Math.max(count, 2 * blockKinds.length));
+            blockKinds = Arrays.copyOf(blockKinds, capacity);
+            blockFirsts = Arrays.copyOf(blockFirsts, capacity);
+            blockOperands = Arrays.copyOf(blockOperands, capacity);
+            blockPositions = Arrays.copyOf(blockPositions, capacity);
+        }
+        SortTrace.Cursor decoder = trace.cursorAt(keyframePositions[(int) index], keyframePreviousIndices[(int) index]);
+        for (int k = 0; k < count; k++) {
+            blockPositions[k] = decoder.position();
+            blockKinds[k] = (byte) decoder.advance();
+            blockFirsts[k] = decoder.first();
+            blockOperands[k] = decoder.operand();
+        }
+        block = index;
+    }
+}
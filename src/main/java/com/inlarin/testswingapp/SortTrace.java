@@ -0,0 +1,374 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+/**
+ * Recorded steps of one sort, replayable independently of the sort that produced them.
+ * Every step is packed into two varints: the first holds the kind of the step in its low two bits and the zigzag
+ * encoded distance of its first index from the first index of the previous step, the second holds the zigzag encoded
+ * distance of the second index from the first one, or for a write the difference between the new and the old value.
+ * Sorts touch neighbouring indices most of the time, so a step usually takes two to four bytes,
+ * and keeping the difference to the old value makes every write reversible.
+ * Created by {@link TraceRecorder}.
+ */
+final class SortTrace {
+
+    /**
+     * Kind of a compare step.
+     */
+    static final int COMPARE = 0;
+
+    /**
+     * Kind of a swap step.
+     */
+    static final int SWAP = 1;
+
+    /**
+     * Kind of a write step.
+     */
+    static final int WRITE = 2;
+
+    /**
+     * The numbers before the first step.
+     */
+    private final int[] initial;
+
+    /**
+     * The encoded steps, valid up to {@link #byteLength}.
+     */
+    private final byte[] data;
+
+    /**
+     * Number of used bytes of {@link #data}.
+     */
+    @Getter
+    private final int byteLength;
+
+    /**
+     * Number of recorded compares.
+     */
+    @Getter
+    private final long compares;
+
+    /**
+     * Number of recorded swaps.
+     */
+    @Getter
+    private final long swaps;
+
+    /**
+     * Number of recorded writes.
+     */
+    @Getter
+    private final long writes;
+
+    /**
+     * Creates a trace, taking ownership of the arrays.
+     *
+     * @param initial    the numbers before the first step
+     * @param data       the encoded steps
+     * @param byteLength the number of used bytes of {@code data}
+     * @param compares   the number of recorded compares
+     * @param swaps      the number of recorded swaps
+     * @param writes     the number of recorded writes
+     */
+    SortTrace(int[] initial, byte[] data, int byteLength, long compares, long swaps, long writes) {
+        this.initial = initial;
+        this.data = data;
+        this.byteLength = byteLength;
+        this.compares = compares;
+        this.swaps = swaps;
+        this.writes = writes;
+    }
+
+    /**
+     * Returns the numbers before the first step.
+     *
+     * @return a copy of the initial numbers
+     */
+    int[] initialValues() {
+        return initial.clone();
+    }
+
+    /**
+     * Returns the number of numbers the trace was recorded on.
+     *
+     * @return the size of the sorted array
+     */
+    int size() {
+        return initial.length;
+    }
+
+    /**
+     * Returns the number of swaps and writes, the steps that change the numbers.
+     *
+     * @return the number of moves
+     */
+    long moves() {
+        return swaps + writes;
+    }
+
+    /**
+     * Returns the number of recorded steps of every kind.
+     *
+     * @return the number of steps
+     */
+    long steps() {
+        return compares + swaps + writes;
+    }
+
+    /**
+     * Reports every recorded step to the listener in order.
+     *
+     * @param listener the listener to notify
+     */
+    void replay(SortListener listener) {
+        Reader reader = reader();
+        while (reader.hasNext()) {
+            reader.next(listener);
+        }
+    }
+
+    /**
+     * Creates a reader positioned before the first step.
+     *
+     * @return a new reader
+     */
+    Reader reader() {
+        return new Reader();
+    }
+
+    /**
+     * Creates a cursor at a step boundary, decoding the steps without tracking the numbers.
+     *
+     * @param position      the offset of the step in the encoded data
+     * @param previousIndex the first index of the step before it, 0 at the start
+     * @return a new cursor
+     */
+    Cursor cursorAt(int position, int previousIndex) {
+        return new Cursor(position, previousIndex);
+    }
+
+    /**
+     * Applies a decoded step to the numbers and reports it to the listener.
+     *
+     * @param values   the numbers before the step
+     * @param kind     the kind of the step
+     * @param first    the first index of the step
+     * @param operand  the distance of the second index, or for a write the difference to the old value
+     * @param listener the listener to notify
+     */
+    static void apply(int[] values, int kind, int first, int operand, SortListener listener) {
+        switch (kind) {
+            case COMPARE -> listener.onCompare(first, first + operand);
+            case SWAP -> swap(values, first, first + operand, listener);
+            default -> {
+                int value = values[first] + operand;
+                values[first] = value;
+                listener.onWrite(first, value);
+            }
+        }
+    }
+
+    /**
+     * Takes a decoded step back, reporting the inverse step to the listener: swaps are their own inverse,
+     * and a write is undone by writing the old value back.
+     *
+     * @param values   the numbers after the step
+     * @param kind     the kind of the step
+     * @param first    the first index of the step
+     * @param operand  the distance of the second index, or for a write the difference to the old value
+     * @param listener the listener to notify
+     */
+    static void undo(int[] values, int kind, int first, int operand, SortListener listener) {
+        switch (kind) {
+            case COMPARE -> listener.onCompare(first, first + operand);
+            case SWAP -> swap(values, first, first + operand, listener);
+            default -> {
+                int value = values[first] - operand;
+                values[first] = value;
+                listener.onWrite(first, value);
+            }
+        }
+    }
+
+    private static void swap(int[] values, int i, int j, SortListener listener) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+        listener.onSwap(i, j);
+    }
+
+    /**
+     * Zigzag encodes an int, so that values close to zero in either direction get short varints.
+     *
+     * @param value the value
+     * @return the encoded value, never negative as an unsigned number
+     */
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Reverses {@link #zigzag(int)}.
+     *
+     * @param encoded the encoded value
+     * @return the value
+     */
+    static int unzigzag(int encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Decodes the recorded steps one by one without applying them.
+     */
+    final class Cursor {
+
+        /**
+         * Offset of the next step in {@link #data}.
+         */
+        private int position;
+
+        /**
+         * First index of the previous step.
+         */
+        private int previousIndex;
+
+        /**
+         * First index of the last decoded step.
+         */
+        private int first;
+
+        /**
+         * Operand of the last decoded step.
+         */
+        private int operand;
+
+        private Cursor(int position, int previousIndex) {
+            this.position = position;
+            this.previousIndex = previousIndex;
+        }
+
+        /**
+         * Checks whether there are more steps.
+         *
+         * @return true if {@link #advance()} can be called
+         */
+        boolean hasNext() {
+            return position < byteLength;
+        }
+
+        /**
+         * Decodes the next step, available through {@link #first()} and {@link #operand()} until the next call.
+         *
+         * @return the kind of the step: {@link #COMPARE}, {@link #SWAP} or {@link #WRITE}
+         */
+        int advance() {
+            long header = readVarint();
+            first = previousIndex + unzigzag((int) (header >>> 2));
+            operand = unzigzag((int) readVarint());
+            previousIndex = first;
+            return (int) header & 3;
+        }
+
+        /**
+         * Returns the first index of the last decoded step.
+         *
+         * @return the index
+         */
+        int first() {
+            return first;
+        }
+
+        /**
+         * Returns the operand of the last decoded step.
+         *
+         * @return the distance of the second index, or for a write the difference to the old value
+         */
+        int operand() {
+            return operand;
+        }
+
+        /**
+         * Returns the offset of the next step.
+         *
+         * @return the offset in the encoded data
+         */
+        int position() {
+            return position;
+        }
+
+        /**
+         * Returns the first index of the last decoded step, the base of the next one.
+         *
+         * @return the index
+         */
+        int previousIndex() {
+            return previousIndex;
+        }
+
+        /**
+         * Moves the cursor to a step boundary saved earlier.
+         *
+         * @param position      the offset of the step
+         * @param previousIndex the first index of the step before it
+         */
+        void moveTo(int position, int previousIndex) {
+            this.position = position;
+            this.previousIndex = previousIndex;
+        }
+
+        private long readVarint() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return result;
+        }
+    }
+
+    /**
+     * Forward cursor over the recorded steps. Keeps the numbers as they are after the steps read so far,
+     * since the old value is needed to decode a write.
+     */
+    final class Reader {
+
+        /**
+         * The numbers after the steps read so far.
+         */
+        private final int[] values = initial.clone();
+
+        /**
+         * Decodes the steps.
+         */
+        private final Cursor cursor = new Cursor(0, 0);
+
+        private Reader() {
+        }
+
+        /**
+         * Checks whether there are more steps.
+         *
+         * @return true if {@link #next(SortListener)} can be called
+         */
+        boolean hasNext() {
+            return cursor.hasNext();
+        }
+
+        /**
+         * Reads the next step, applies it to the tracked numbers and reports it to the listener.
+         *
+         * @param listener the listener to notify
+         * @return the kind of the step: {@link #COMPARE}, {@link #SWAP} or {@link #WRITE}
+         */
+        int next(SortListener listener) {
+            int kind = cursor.advance();
+            apply(values, kind, cursor.first(), cursor.operand(), listener);
+            return kind;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+
+/**
+ * Listener that counts the steps of a sort. Not thread-safe, which is fine for every {@link SortAlgorithm}:
+ * parallel sorts serialize their steps themselves.
+ */
+@Getter
+final class StepCounter implements SortListener {
+
+    /**
+     * Number of reported compares.
+     */
+    private long compares;
+
+    /**
+     * Number of reported swaps.
+     */
+    private long swaps;
+
+    /**
+     * Number of reported writes.
+     */
+    private long writes;
+
+    /**
+     * Number of reported ranges.
+     */
+    private long partitions;
+
+    @Override
+    public void onCompare(int i, int j) {
+        compares++;
+    }
+
+    @Override
+    public void onSwap(int i, int j) {
+        swaps++;
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        writes++;
+    }
+
+    @Override
+    public void onPartition(int low, int high) {
+        partitions++;
+    }
+}
@@ -0,0 +1,167 @@
+package com.inlarin.testswingapp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lock-free single-producer/single-consumer ring buffer of sort steps, each packed into one primitive long,
+ * so handing a step from the sorting thread to the event dispatch thread allocates nothing.
+ * A swap is stored as the two indices in the high and low halves; a write stores the index in the high half
+ * with the sign bit set and the value in the low half.
+ * Exactly one thread may offer steps and exactly one other thread may drain them.
+ */
+final class StepRingBuffer {
+
+    /**
+     * Flag marking a write, indices are never negative so the sign bit is free.
+     */
+    private static final long WRITE_FLAG = Long.MIN_VALUE;
+
+    /**
+     * How long a blocked producer parks before checking for free space again.
+     */
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * The packed steps.
+     */
+    private final long[] slots;
+
+    /**
+     * Mask turning a position into a slot index, the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Position of the next step to drain, only advanced by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Position of the next step to offer, only advanced by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity the maximum number of buffered steps, rounded up to a power of two
+     */
+    StepRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the maximum number of buffered steps.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the number of buffered steps. Exact only when called by the producer or the consumer while the other is idle.
+     *
+     * @return the number of steps waiting to be drained
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Packs a swap into a step.
+     *
+     * @param i the index of the first swapped element
+     * @param j the index of the second swapped element
+     * @return the packed step
+     */
+    static long swap(int i, int j) {
+        return ((long) i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a write into a step.
+     *
+     * @param index the written index
+     * @param value the written value
+     * @return the packed step
+     */
+    static long write(int index, int value) {
+        return WRITE_FLAG | ((long) index << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Adds a step if there is space. Producer only.
+     *
+     * @param step the packed step
+     * @return false if the buffer is full
+     */
+    boolean offer(long step) {
+        long position = tail.get();
+        if (position - head.get() == slots.length) {
+            return false;
+        }
+        slots[(int) position & mask] = step;
+        tail.lazySet(position + 1);
+        return true;
+    }
+
+    /**
+     * Adds a step, waiting for space while the buffer is full. Producer only.
+     *
+     * @param step      the packed step
+     * @param cancelled checked while waiting, the step is dropped once it returns true
+     * @return false if the step was dropped because of cancellation
+     */
+    boolean put(long step, BooleanSupplier cancelled) {
+        while (!offer(step)) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Drains up to {@code maxSteps} steps in order, reporting each to the target. Consumer only.
+     *
+     * @param target   receives the drained swaps and writes
+     * @param maxSteps the maximum number of steps to drain
+     * @return the number of drained steps
+     */
+    int drainTo(SortListener target, int maxSteps) {
+        long position = head.get();
+        int count = (int) Math.min(maxSteps, tail.get() - position);
+        for (int k = 0; k < count; k++) {
+            long step = slots[(int) (position + k) & mask];
+            int first = (int) (step >>> 32) & Integer.MAX_VALUE;
+            int second = (int) step;
+            if (step < 0) {
+                target.onWrite(first, second);
+            } else {
+                target.onSwap(first, second);
+            }
+        }
+        head.lazySet(position + count);
+        return count;
+    }
+
+    /**
+     * Discards every buffered step. Consumer only.
+     */
+    void clear() {
+        head.lazySet(tail.get());
+    }
+}
@@ -0,0 +1,223 @@
+package com.inlarin.testswingapp;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import java.awt.Dimension;
+import java.util.function.Consumer;
+
+/**
+ * Controls for moving through a recorded sort: a slider to jump to any step and buttons to step forward,
+ * step backward and play in reverse. Every move is applied to the {@link NumbersModel}, so the grid follows.
+ * All methods must be called on the event dispatch thread.
+ */
+final class TimelinePanel extends JPanel {
+
+    /**
+     * The numbers the timeline is shown on.
+     */
+    private final NumbersModel model;
+
+    /**
+     * Plays the timeline in reverse.
+     */
+    private final AnimationScheduler scheduler;
+
+    /**
+     * Applies the steps of manual moves to the model.
+     */
+    private final SortListener modelApplier = new SortListener() {
+        @Override
+        public void onSwap(int i, int j) {
+            model.swap(i, j);
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            model.write(index, value);
+        }
+    };
+
+    /**
+     * Slider holding the current step.
+     */
+    @Getter
+    private final JSlider slider = new JSlider(0, 0, 0);
+
+    /**
+     * Button taking one step back.
+     */
+    @Getter
+    private final JButton stepBackButton = new JButton("Step back");
+
+    /**
+     * Button taking one step forward.
+     */
+    @Getter
+    private final JButton stepForwardButton = new JButton("Step forward");
+
+    /**
+     * Button playing the timeline backward to the start.
+     */
+    @Getter
+    private final JButton reverseButton = new JButton("Play reverse");
+
+    /**
+     * Called with true when a reverse playback starts and with false when it ends.
+     */
+    @Setter
+    private Consumer<Boolean> playingHandler = playing -> {
+    };
+
+    /**
+     * The timeline shown, null if there is none.
+     */
+    @Getter
+    private SortTimeline timeline;
+
+    /**
+     * The order of the numbers at the end of the timeline.
+     */
+    private SortOrder finalOrder = SortOrder.UNSORTED;
+
+    /**
+     * Set while the slider is moved by the panel itself rather than by the user.
+     */
+    private boolean syncing;
+
+    /**
+     * Creates disabled controls for the model.
+     *
+     * @param model     the numbers the timeline is shown on
+     * @param scheduler the scheduler playing the timeline in reverse
+     * @param width     the width of the controls
+     * @param height    the height of a single control
+     */
+    TimelinePanel(NumbersModel model, AnimationScheduler scheduler, int width, int height) {
+        this.model = model;
+        this.scheduler = scheduler;
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        JComponent[] controls = {slider, stepBackButton, stepForwardButton, reverseButton};
+        for (JComponent control : controls) {
+            control.setMaximumSize(new Dimension(width, height));
+            add(control);
+        }
+        setMaximumSize(new Dimension(width, height * controls.length));
+
+        slider.addChangeListener(e -> {
+            if (!syncing && timeline != null) {
+                seek(slider.getValue());
+            }
+        });
+        stepBackButton.addActionListener(e -> step(false));
+        stepForwardButton.addActionListener(e -> step(true));
+        reverseButton.addActionListener(e -> playReverse());
+        setControlsEnabled(false);
+    }
+
+    /**
+     * Shows a timeline whose current step is displayed by the model.
+     *
+     * @param timeline   the timeline, positioned at the numbers the model displays
+     * @param finalOrder the order of the numbers at the end of the timeline
+     */
+    void setTimeline(SortTimeline timeline, SortOrder finalOrder) {
+        this.timeline = timeline;
+        this.finalOrder = finalOrder;
+        syncing = true;
+        slider.setMaximum((int) timeline.getLength());
+        syncing = false;
+        sync(timeline.getStep());
+        setControlsEnabled(true);
+    }
+
+    /**
+     * Shows a timeline and plays it to the end, the controls are enabled once the last step has been played.
+     *
+     * @param timeline   the timeline, positioned at the numbers the model displays
+     * @param finalOrder the order of the numbers at the end of the timeline
+     * @param onFinished called after the last step has been played
+     */
+    void play(SortTimeline timeline, SortOrder finalOrder, Runnable onFinished) {
+        setTimeline(timeline, finalOrder);
+        play(false, onFinished);
+    }
+
+    /**
+     * Drops the timeline, for instance because the numbers were replaced or sorted live.
+     */
+    void clear() {
+        timeline = null;
+        setControlsEnabled(false);
+    }
+
+    /**
+     * Moves the slider to the step reached by a playback.
+     *
+     * @param step the current step of the timeline
+     */
+    void sync(long step) {
+        syncing = true;
+        slider.setValue((int) step);
+        syncing = false;
+    }
+
+    /**
+     * Jumps to the given step and shows the numbers there.
+     *
+     * @param target the number of steps from the start
+     */
+    void seek(long target) {
+        scheduler.cancel();
+        model.beginUpdate();
+        try {
+            if (!timeline.seek(target, modelApplier)) {
+                model.writeAll(timeline.toArray());
+            }
+        } finally {
+            model.endUpdate();
+        }
+        updateKnownOrder();
+    }
+
+    private void step(boolean forward) {
+        scheduler.cancel();
+        if (forward) {
+            timeline.stepForward(modelApplier);
+        } else {
+            timeline.stepBackward(modelApplier);
+        }
+        updateKnownOrder();
+        sync(timeline.getStep());
+    }
+
+    private void playReverse() {
+        playingHandler.accept(true);
+        model.setKnownOrder(SortOrder.UNSORTED);
+        play(true, () -> playingHandler.accept(false));
+    }
+
+    private void play(boolean backward, Runnable onFinished) {
+        setControlsEnabled(false);
+        scheduler.play(new TimelinePlayback(timeline, backward, this::sync), () -> {
+            setControlsEnabled(true);
+            onFinished.run();
+        });
+    }
+
+    private void updateKnownOrder() {
+        model.setKnownOrder(timeline.getStep() == timeline.getLength() ? finalOrder : SortOrder.UNSORTED);
+    }
+
+    private void setControlsEnabled(boolean enabled) {
+        slider.setEnabled(enabled);
+        stepBackButton.setEnabled(enabled);
+        stepForwardButton.setEnabled(enabled);
+        reverseButton.setEnabled(enabled);
+    }
+}
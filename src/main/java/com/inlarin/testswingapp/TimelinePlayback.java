@@ -0,0 +1,48 @@
+package com.inlarin.testswingapp;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Plays a {@link SortTimeline} from its current step to the end, or backward to the start,
+ * reporting the reached step after every frame. Every step, recorded compares included, counts towards the frame budget.
+ */
+final class TimelinePlayback implements AnimationScheduler.Playback {
+
+    /**
+     * The timeline being played.
+     */
+    private final SortTimeline timeline;
+
+    /**
+     * True to take steps back towards the start, false to play towards the end.
+     */
+    private final boolean backward;
+
+    /**
+     * Called with the current step after every frame.
+     */
+    private final LongConsumer progress;
+
+    /**
+     * Creates a playback of the timeline from its current step.
+     *
+     * @param timeline the timeline to play
+     * @param backward true to play in reverse towards the start, false to play towards the end
+     * @param progress called with the current step after every frame
+     */
+    TimelinePlayback(SortTimeline timeline, boolean backward, LongConsumer progress) {
+        this.timeline = timeline;
+        this.backward = backward;
+        this.progress = progress;
+    }
+
+    @Override
+    public boolean playTo(SortListener target, int maxMoves) {
+        boolean more = true;
+        for (int i = 0; i < maxMoves && more; i++) {
+            more = backward ? timeline.stepBackward(target) : timeline.stepForward(target);
+        }
+        progress.accept(timeline.getStep());
+        return backward ? timeline.getStep() == 0 : timeline.getStep() == timeline.getLength();
+    }
+}
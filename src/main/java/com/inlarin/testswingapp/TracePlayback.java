@@ -0,0 +1,33 @@
+package com.inlarin.testswingapp;
+
+/**
+ * Plays a recorded {@link SortTrace} from its first step. Compares are skipped,
+ * so the frame budget of the {@link AnimationScheduler} counts only the steps that change the numbers.
+ */
+final class TracePlayback implements AnimationScheduler.Playback {
+
+    /**
+     * Cursor over the steps not played yet.
+     */
+    private final SortTrace.Reader reader;
+
+    /**
+     * Creates a playback positioned before the first step of the trace.
+     *
+     * @param trace the trace to play
+     */
+    TracePlayback(SortTrace trace) {
+        this.reader = trace.reader();
+    }
+
+    @Override
+    public boolean playTo(SortListener target, int maxMoves) {
+        int moves = 0;
+        while (moves < maxMoves && reader.hasNext()) {
+            if (reader.next(target) != SortTrace.COMPARE) {
+                moves++;
+            }
+        }
+        return !reader.hasNext();
+    }
+}
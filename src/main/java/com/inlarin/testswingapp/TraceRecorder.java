@@ -0,0 +1,154 @@
+package com.inlarin.testswingapp;
+
+import java.util.Arrays;
+
+/**
+ * Listener that records the steps of a sort into a {@link SortTrace}.
+ * Recording only appends a few bytes per step to a growable array, so a sort recorded at full speed
+ * takes little longer than the sort itself, and the trace can be played back later at any pace.
+ * Not thread-safe, which is fine for every {@link SortAlgorithm}: parallel sorts serialize their steps themselves.
+ */
+final class TraceRecorder implements SortListener {
+
+    /**
+     * Largest encoded step: a 34-bit header and a 32-bit operand, seven bits per byte.
+     */
+    private static final int MAX_STEP_LENGTH = 10;
+
+    /**
+     * Largest possible trace in bytes.
+     */
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The numbers before the first step.
+     */
+    private final int[] initial;
+
+    /**
+     * The numbers after the steps recorded so far, needed to encode writes as differences.
+     */
+    private final int[] values;
+
+    /**
+     * Whether compares are recorded, or only the swaps and writes.
+     */
+    private final boolean recordCompares;
+
+    /**
+     * The encoded steps.
+     */
+    private byte[] data;
+
+    /**
+     * Number of used bytes of {@link #data}.
+     */
+    private int length;
+
+    /**
+     * First index of the previous step.
+     */
+    private int previousIndex;
+
+    /**
+     * Number of recorded compares.
+     */
+    private long compares;
+
+    /**
+     * Number of recorded swaps.
+     */
+    private long swaps;
+
+    /**
+     * Number of recorded writes.
+     */
+    private long writes;
+
+    /**
+     * Creates a recorder for a sort of the given numbers.
+     *
+     * @param numbers        the numbers before the sort, copied
+     * @param recordCompares true to record compares too, false to record only swaps and writes
+     */
+    TraceRecorder(int[] numbers, boolean recordCompares) {
+        this.initial = numbers.clone();
+        this.values = numbers.clone();
+        this.recordCompares = recordCompares;
+        this.data = new byte[Math.max(64, numbers.length * 4)];
+    }
+
+    /**
+     * Sorts a copy of the numbers at full speed and records every step.
+     *
+     * @param algorithm      the algorithm to record
+     * @param numbers        the numbers to sort, left unchanged
+     * @param descending     true to sort in descending order, false for ascending order
+     * @param recordCompares true to record compares too, false to record only swaps and writes
+     * @return the recorded trace
+     */
+    static SortTrace record(SortAlgorithm algorithm, int[] numbers, boolean descending, boolean recordCompares) {
+        TraceRecorder recorder = new TraceRecorder(numbers, recordCompares);
+        algorithm.sort(numbers.clone(), descending, recorder);
+        return recorder.toTrace();
+    }
+
+    @Override
+    public void onCompare(int i, int j) {
+        if (recordCompares) {
+            append(SortTrace.COMPARE, i, j - i);
+            compares++;
+        }
+    }
+
+    @Override
+    public void onSwap(int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+        append(SortTrace.SWAP, i, j - i);
+        swaps++;
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        int difference = value - values[index];
+        values[index] = value;
+        append(SortTrace.WRITE, index, difference);
+        writes++;
+    }
+
+    /**
+     * Returns the steps recorded so far. The recorder may be used further, the trace does not change.
+     *
+     * @return the trace
+     */
+    SortTrace toTrace() {
+        return new SortTrace(initial, Arrays.copyOf(data, length), length, compares, swaps, writes);
+    }
+
+    private void append(int kind, int index, int operand) {
+        ensureCapacity(MAX_STEP_LENGTH);
+        writeVarint(((SortTrace.zigzag(index - previousIndex) & 0xFFFFFFFFL) << 2) | kind);
+        writeVarint(SortTrace.zigzag(operand) & 0xFFFFFFFFL);
+        previousIndex = index;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (data.length - length >= extra) {
+            return;
+        }
+        if (length > MAX_LENGTH - extra) {
+            throw new IllegalStateException("Sort trace exceeds " + MAX_LENGTH + " bytes");
+        }
+        data = Arrays.copyOf(data, (int) Math.min(MAX_LENGTH, Math.max((long) data.length * 2, length + extra)));
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+}
@@ -0,0 +1,165 @@
+package com.inlarin.testswingapp;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.inlarin.testswingapp.SortAlgorithms.swap;
+
+/**
+ * Partition kernels built on the incubating Vector API.
+ * Blocks of the block partition are classified with SIMD compares, and subarrays of up to 16 elements
+ * are sorted by a SIMD rank sort: the final position of every element is the number of elements that go before it,
+ * counted with one vector compare per lane group, after which the elements are moved along the permutation cycles.
+ * Only loaded through {@link VectorSupport}, after the module has been found.
+ */
+final class VectorKernels {
+
+    /**
+     * Widest vector shape supported by the hardware.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Largest subarray sorted by the rank sort, the ranks of all its elements fit into one long as 4-bit fields.
+     */
+    static final int SMALL_SORT_LIMIT = 16;
+
+    /**
+     * Lane indices 0, 1, 2, ... used to break ties between equal elements.
+     */
+    private static final IntVector LANE_INDEX = IntVector.zero(SPECIES).addIndex(1);
+
+    /**
+     * Block classifier comparing a whole vector of elements against the pivot per instruction.
+     */
+    private static final BlockClassifier CLASSIFIER = new BlockClassifier() {
+        @Override
+        public long greater(int[] arr, int from, int pivot) {
+            long mask = 0;
+            for (int k = 0; k < PartitionScheme.BLOCK_SIZE; k += SPECIES.length()) {
+                mask |= IntVector.fromArray(SPECIES, arr, from + k).compare(VectorOperators.GT, pivot).toLong() << k;
+            }
+            return mask;
+        }
+
+        @Override
+        public long less(int[] arr, int from, int pivot) {
+            long mask = 0;
+            for (int k = 0; k < PartitionScheme.BLOCK_SIZE; k += SPECIES.length()) {
+                mask |= IntVector.fromArray(SPECIES, arr, from + k).compare(VectorOperators.LT, pivot).toLong() << k;
+            }
+            return mask;
+        }
+    };
+
+    /**
+     * Kernel for ascending order.
+     */
+    private static final PartitionKernel ASCENDING = new Kernel(false);
+
+    /**
+     * Kernel for descending order.
+     */
+    private static final PartitionKernel DESCENDING = new Kernel(true);
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Returns the vector kernel for the given order.
+     *
+     * @param descending true for descending order, false for ascending order
+     * @return the partition kernel
+     */
+    static PartitionKernel kernel(boolean descending) {
+        return descending ? DESCENDING : ASCENDING;
+    }
+
+    /**
+     * Sorts a subarray of at most {@link #SMALL_SORT_LIMIT} elements by computing the rank of every element with SIMD
+     * compares and then following the permutation cycles, which takes at most one swap per element.
+     *
+     * @param arr        the array of integers to be sorted
+     * @param low        the starting index of the subarray
+     * @param high       the ending index of the subarray
+     * @param descending true to sort in descending order, false for ascending order
+     * @param listener   the listener notified about every step of the sort
+     */
+    static void rankSort(int[] arr, int low, int high, boolean descending, SortListener listener) {
+        int size = high - low + 1;
+        VectorOperators.Comparison goesBefore = descending ? VectorOperators.GT : VectorOperators.LT;
+
+        long ranks = 0;
+        for (int i = 0; i < size; i++) {
+            int value = arr[low + i];
+            int rank = 0;
+            for (int offset = 0; offset < size; offset += SPECIES.length()) {
+                VectorMask<Integer> inRange = SPECIES.indexInRange(offset, size);
+                IntVector block = IntVector.fromArray(SPECIES, arr, low + offset, inRange);
+                rank += block.compare(goesBefore, value).and(inRange).trueCount();
+                rank += block.compare(VectorOperators.EQ, value)
+                        .and(LANE_INDEX.compare(VectorOperators.LT, i - offset))
+                        .and(inRange)
+                        .trueCount();
+            }
+            ranks |= (long) rank << (4 * i);
+        }
+        if (listener.observesSteps()) {
+            for (int i = low; i < high; i++) {
+                for (int j = i + 1; j <= high; j++) {
+                    listener.onCompare(i, j);
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            int target = rankAt(ranks, i);
+            while (target != i) {
+                swap(arr, low + i, low + target, listener);
+                ranks = withRank(ranks, i, rankAt(ranks, target));
+                ranks = withRank(ranks, target, target);
+                target = rankAt(ranks, i);
+            }
+        }
+    }
+
+    private static int rankAt(long ranks, int index) {
+        return (int) (ranks >>> (4 * index)) & 0xF;
+    }
+
+    private static long withRank(long ranks, int index, int rank) {
+        return (ranks & ~(0xFL << (4 * index))) | ((long) rank << (4 * index));
+    }
+
+    /**
+     * Vector partition kernel for one order.
+     */
+    private static final class Kernel implements SmallSortKernel {
+
+        /**
+         * True for descending order, false for ascending order.
+         */
+        private final boolean descending;
+
+        Kernel(boolean descending) {
+            this.descending = descending;
+        }
+
+        @Override
+        public long partition(int[] arr, int low, int high, SortListener listener) {
+            return PartitionScheme.blockPartition(arr, low, high, descending, CLASSIFIER, listener);
+        }
+
+        @Override
+        public int smallSortLimit() {
+            return SMALL_SORT_LIMIT;
+        }
+
+        @Override
+        public void smallSort(int[] arr, int low, int high, SortListener listener) {
+            rankSort(arr, low, high, descending, listener);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.inlarin.testswingapp;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether the Vector API kernels can be used. They are opt-in: {@link VectorKernels} is only compiled by the
+ * {@code vector} Maven profile, and at runtime they are enabled with {@code -Dsort.vector=true} and need
+ * the incubator module ({@code --add-modules jdk.incubator.vector}).
+ * This class never touches the Vector API or the kernels class directly, so it is safe to load when either is absent.
+ */
+@Slf4j
+final class VectorSupport {
+
+    /**
+     * System property that enables the Vector API kernels.
+     */
+    static final String ENABLED_PROPERTY = "sort.vector";
+
+    /**
+     * Name of the incubator module providing the Vector API.
+     */
+    static final String MODULE_NAME = "jdk.incubator.vector";
+
+    /**
+     * Name of the class holding the kernels, absent unless built with the {@code vector} profile.
+     */
+    static final String KERNELS_CLASS = "com.inlarin.testswingapp.VectorKernels";
+
+    /**
+     * Whether the Vector API kernels are requested and available, decided once on first use.
+     */
+    private static final boolean ENABLED = detect();
+
+    private VectorSupport() {
+    }
+
+    /**
+     * Checks whether the Vector API kernels are enabled and the module is present.
+     *
+     * @return true if {@link #kernel(boolean)} may be called
+     */
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the Vector API partition kernel for the given order.
+     *
+     * @param descending true for descending order, false for ascending order
+     * @return the vector kernel
+     * @throws IllegalStateException if the kernels are not enabled
+     */
+    static PartitionKernel kernel(boolean descending) {
+        if (!ENABLED) {
+            throw new IllegalStateException("Vector kernels are not enabled");
+        }
+        try {
+            return (PartitionKernel) Class.forName(KERNELS_CLASS).getDeclaredMethod("kernel", boolean.class)
+                    .invoke(null, descending);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Vector kernels could not be created", e);
+        }
+    }
+
+    private static boolean detect() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return false;
+        }
+        if (ModuleLayer.boot().findModule(MODULE_NAME).isEmpty()) {
+            log.warn("{} is set but module {} is not present, using scalar kernels", ENABLED_PROPERTY, MODULE_NAME);
+            return false;
+        }
+        try {
+            Class.forName(KERNELS_CLASS, false, VectorSupport.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            log.warn("{} is set but the kernels were not compiled, build with -Pvector; using scalar kernels",
+                    ENABLED_PROPERTY);
+            return false;
+        }
+        return true;
+    }
+}
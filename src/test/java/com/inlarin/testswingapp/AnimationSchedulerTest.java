@@ -0,0 +1,301 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link AnimationScheduler}. Frames are played by hand on the event dispatch thread,
+ * with the frame clock slowed down so that it never fires on its own, except in the test of the clock itself.
+ */
+class AnimationSchedulerTest {
+
+    /**
+     * The animated numbers.
+     */
+    private NumbersModel model;
+
+    /**
+     * The scheduler under test.
+     */
+    private AnimationScheduler scheduler;
+
+    /**
+     * Creates a scheduler for five numbers.
+     */
+    @BeforeEach
+    void setUp() {
+        model = new NumbersModel();
+        model.setValues(new int[]{5, 2, 9, 1, 7});
+        scheduler = new AnimationScheduler(model);
+        scheduler.setFrameDelay((int) TimeUnit.MINUTES.toMillis(1));
+    }
+
+    /**
+     * Tests that a frame applies at most the configured number of steps and highlights only the numbers it touched.
+     */
+    @Test
+    void testStepsPerFrameBudget() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        scheduler.setStepsPerFrame(2);
+        AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+        SwingUtilities.invokeAndWait(() -> animation[0] = scheduler.start(() -> done.set(true)));
+
+        animation[0].onSwap(0, 3);
+        animation[0].onWrite(1, 4);
+        animation[0].onSwap(2, 2);
+        animation[0].finish(new int[]{1, 4, 9, 5, 7});
+
+        SwingUtilities.invokeAndWait(scheduler::playFrame);
+        assertArrayEquals(new int[]{1, 4, 9, 5, 7}, model.toArray());
+        assertEquals(CellState.SWAP_FIRST, model.getState(0));
+        assertEquals(CellState.WRITE, model.getState(1));
+        assertEquals(CellState.SWAP_SECOND, model.getState(3));
+        assertFalse(done.get());
+
+        SwingUtilities.invokeAndWait(scheduler::playFrame);
+        assertTrue(done.get());
+        assertFalse(scheduler.isRunning());
+        for (int i = 0; i < model.size(); i++) {
+            assertEquals(CellState.NORMAL, model.getState(i));
+        }
+    }
+
+    /**
+     * Tests that a frame fires one value event and one state event, however many steps it applies.
+     */
+    @Test
+    void testFrameCoalescesEvents() throws Exception {
+        List<NumbersModelEvent> events = new ArrayList<>();
+        model.addNumbersModelListener(events::add);
+        scheduler.setStepsPerFrame(10);
+        AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+        SwingUtilities.invokeAndWait(() -> animation[0] = scheduler.start(() -> {
+        }));
+        animation[0].onSwap(0, 4);
+        animation[0].onSwap(1, 3);
+        animation[0].onWrite(2, 8);
+
+        SwingUtilities.invokeAndWait(scheduler::playFrame);
+
+        assertEquals(2, events.size());
+        assertEquals(NumbersModelEvent.Type.VALUES, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstIndex());
+        assertEquals(4, events.get(0).getLastIndex());
+        assertEquals(NumbersModelEvent.Type.STATES, events.get(1).getType());
+    }
+
+    /**
+     * Tests that with blocking backpressure a sort much longer than the buffer still shows every step.
+     */
+    @Test
+    void testBlockingBackpressurePlaysEveryStep() throws Exception {
+        int[] numbers = new Random(2).ints(200, 1, 1001).toArray();
+        model.setValues(numbers);
+        scheduler.setCapacity(8);
+        scheduler.setBackpressure(Backpressure.BLOCK);
+        scheduler.setFrameDelay(1);
+        scheduler.setStepsPerFrame(5);
+        long[] played = new long[1];
+        model.addNumbersModelListener(e -> played[0]++);
+
+        AnimationScheduler.Animation animation = sortOnAnimation(numbers);
+
+        assertFalse(animation.isOverflowed());
+        assertArrayEquals(numbers, model.toArray());
+        assertTrue(played[0] > 20, "Frames should have been played one by one");
+    }
+
+    /**
+     * Tests that with dropping backpressure the sort does not wait, and the animation jumps to the sorted numbers.
+     */
+    @Test
+    void testDroppingBackpressureShowsResult() throws Exception {
+        int[] numbers = new Random(3).ints(2000, 1, 1001).toArray();
+        model.setValues(numbers);
+        scheduler.setCapacity(16);
+        scheduler.setBackpressure(Backpressure.DROP);
+        scheduler.setFrameDelay(1);
+
+        AnimationScheduler.Animation animation = sortOnAnimation(numbers);
+
+        assertTrue(animation.isOverflowed());
+        assertArrayEquals(numbers, model.toArray());
+        assertTrue(SortAlgorithms.isSorted(model.toArray(), false));
+    }
+
+    /**
+     * Sorts the numbers on another thread while the scheduler plays them, and waits until the animation has finished.
+     *
+     * @param numbers the numbers shown by the model, sorted in place
+     * @return the finished animation
+     */
+    private AnimationScheduler.Animation sortOnAnimation(int[] numbers) throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+        SwingUtilities.invokeAndWait(() -> animation[0] = scheduler.start(() -> done.set(true)));
+        Thread sortThread = new Thread(() -> {
+            new QuickSort().sort(numbers, false, animation[0]);
+            animation[0].finish(numbers);
+        });
+        sortThread.start();
+
+        await().atMost(30, TimeUnit.SECONDS).until(done::get);
+        sortThread.join();
+        return animation[0];
+    }
+
+    /**
+     * Tests that a cancelled animation no longer changes the model.
+     */
+    @Test
+    void testCancel() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+        SwingUtilities.invokeAndWait(() -> animation[0] = scheduler.start(() -> done.set(true)));
+        animation[0].onSwap(0, 1);
+        animation[0].finish(new int[]{2, 5, 9, 1, 7});
+
+        SwingUtilities.invokeAndWait(scheduler::cancel);
+        SwingUtilities.invokeAndWait(scheduler::playFrame);
+
+        assertArrayEquals(new int[]{5, 2, 9, 1, 7}, model.toArray());
+        assertFalse(done.get());
+    }
+
+    /**
+     * Tests that the frame clock plays a whole sort reported from another thread.
+     */
+    @Test
+    void testPlaysSortOnFrameClock() throws Exception {
+        int[] numbers = new Random(1).ints(300, 1, 1001).toArray();
+        model.setValues(numbers);
+        scheduler.setSpeed(AnimationSpeed.THOUSAND_PER_FRAME);
+        AtomicBoolean done = new AtomicBoolean();
+        AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+        SwingUtilities.invokeAndWait(() -> animation[0] = scheduler.start(() -> done.set(true)));
+
+        Thread sortThread = new Thread(() -> {
+            new QuickSort().sort(numbers, false, animation[0]);
+            animation[0].finish(numbers);
+        });
+        sortThread.start();
+
+        await().atMost(10, TimeUnit.SECONDS).until(done::get);
+        assertArrayEquals(numbers, model.toArray());
+        assertTrue(SortAlgorithms.isSorted(model.toArray(), false));
+    }
+
+    /**
+     * Tests that a recorded trace is played with the frame budget counting only swaps and writes.
+     */
+    @Test
+    void testPlaysRecordedTrace() throws Exception {
+        int[] numbers = new Random(4).ints(100, 1, 1001).toArray();
+        model.setValues(numbers);
+        SortTrace trace = TraceRecorder.record(new QuickSort(), numbers, true, true);
+        scheduler.setStepsPerFrame(10);
+        AtomicBoolean done = new AtomicBoolean();
+        SwingUtilities.invokeAndWait(() -> scheduler.play(trace, () -> done.set(true)));
+
+        long frames = 0;
+        while (!done.get()) {
+            SwingUtilities.invokeAndWait(scheduler::playFrame);
+            frames++;
+        }
+
+        assertEquals((trace.moves() + 9) / 10, frames);
+        assertFalse(scheduler.isRunning());
+        assertTrue(SortAlgorithms.isSorted(model.toArray(), true));
+    }
+
+    /**
+     * Tests that a timeline played backward brings the numbers back to the start and reports its progress.
+     */
+    @Test
+    void testPlaysTimelineInReverse() throws Exception {
+        int[] numbers = new Random(5).ints(100, 1, 1001).toArray();
+        SortTrace trace = TraceRecorder.record(new MergeSort(), numbers, false, false);
+        SortTimeline timeline = new SortTimeline(trace);
+        timeline.seek(timeline.getLength(), SortListener.NONE);
+        model.setValues(timeline.toArray());
+        scheduler.setStepsPerFrame(50);
+        List<Long> progress = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        SwingUtilities.invokeAndWait(() ->
+                scheduler.play(new TimelinePlayback(timeline, true, progress::add), () -> done.set(true)));
+
+        while (!done.get()) {
+            SwingUtilities.invokeAndWait(scheduler::playFrame);
+        }
+
+        assertArrayEquals(numbers, model.toArray());
+        assertEquals(0L, (long) progress.get(progress.size() - 1));
+        assertEquals(timeline.getLength() - 50, (long) progress.get(0));
+    }
+
+    /**
+     * Tests that sorts cancelled at random points in quick succession stop promptly
+     * and never change the model after their cancellation.
+     */
+    @Test
+    void testNoModelChangesAfterCancel() throws Exception {
+        int[] numbers = new Random(6).ints(50_000, 1, 1_000_001).toArray();
+        model.setValues(numbers);
+        scheduler.setFrameDelay(1);
+        scheduler.setSpeed(AnimationSpeed.THOUSAND_PER_FRAME);
+        Random random = new Random(7);
+        List<NumbersModelEvent> lateEvents = new ArrayList<>();
+        boolean[] cancelled = new boolean[1];
+        model.addNumbersModelListener(e -> {
+            if (cancelled[0]) {
+                lateEvents.add(e);
+            }
+        });
+
+        for (int round = 0; round < 20; round++) {
+            CancellationToken token = new CancellationToken();
+            AnimationScheduler.Animation[] animation = new AnimationScheduler.Animation[1];
+            SwingUtilities.invokeAndWait(() -> {
+                cancelled[0] = false;
+                animation[0] = scheduler.start(() -> {
+                });
+            });
+            int[] arr = model.toArray();
+            Thread sortThread = new Thread(() -> {
+                try {
+                    new QuickSort().sort(arr, false, token.guard(animation[0]));
+                } catch (SortCancelledException ex) {
+                    // expected
+                } finally {
+                    animation[0].finish(arr);
+                }
+            });
+            sortThread.start();
+            Thread.sleep(random.nextInt(20));
+
+            SwingUtilities.invokeAndWait(() -> {
+                token.cancel();
+                scheduler.cancel();
+                cancelled[0] = true;
+            });
+            sortThread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(sortThread.isAlive(), "The sort should stop after cancellation");
+            SwingUtilities.invokeAndWait(scheduler::playFrame);
+        }
+
+        assertTrue(lateEvents.isEmpty(), lateEvents.size() + " events after cancellation");
+    }
+}
@@ -0,0 +1,75 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares quicksort with the branchless block partition, scalar and vector, against the Lomuto and three-way partitions.
+ * The largest size needs about 800 MB of heap for the input and the working copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BlockPartitionBenchmark {
+
+    /**
+     * Partition scheme under test.
+     */
+    @Param({"LOMUTO", "THREE_WAY", "BLOCK", "VECTOR"})
+    public String scheme;
+
+    /**
+     * Input distribution, see {@link Datasets}.
+     */
+    @Param({Datasets.RANDOM, Datasets.SORTED, Datasets.ALL_EQUAL})
+    public String distribution;
+
+    /**
+     * Number of elements to sort.
+     */
+    @Param({"10000", "1000000", "100000000"})
+    public int size;
+
+    /**
+     * Unsorted input, generated once per trial.
+     */
+    private int[] source;
+
+    /**
+     * Array sorted in place by every invocation.
+     */
+    private int[] work;
+
+    /**
+     * Sort under test.
+     */
+    private QuickSort quickSort;
+
+    @Setup
+    public void setUp() {
+        source = Datasets.generate(distribution, size, 42);
+        work = new int[size];
+        quickSort = new QuickSort(PartitionScheme.valueOf(scheme));
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(source, 0, work, 0, size);
+        quickSort.sort(work, false, SortListener.NONE);
+        return work;
+    }
+}
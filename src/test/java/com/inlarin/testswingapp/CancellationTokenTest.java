@@ -0,0 +1,123 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link CancellationToken}.
+ */
+class CancellationTokenTest {
+
+    /**
+     * Tests that every algorithm stops with a {@link SortCancelledException} at the range after the cancellation,
+     * doing at most a few passes worth of work in between.
+     */
+    @Test
+    void testEveryAlgorithmStopsAfterCancel() {
+        int n = 100_000;
+        int[] numbers = new Random(21).ints(n, 0, 1_000_000_000).toArray();
+        for (SortAlgorithm algorithm : SortAlgorithms.all()) {
+            CancellationToken token = new CancellationToken();
+            long[] movesAfterCancel = new long[1];
+            SortListener listener = token.guard(new SortListener() {
+                @Override
+                public void onSwap(int i, int j) {
+                    count();
+                }
+
+                @Override
+                public void onWrite(int index, int value) {
+                    count();
+                }
+
+                @Override
+                public void onPartition(int low, int high) {
+                    token.cancel();
+                }
+
+                private void count() {
+                    if (token.isCancelled()) {
+                        movesAfterCancel[0]++;
+                    }
+                }
+            });
+
+            assertThrows(SortCancelledException.class, () -> algorithm.sort(numbers.clone(), false, listener),
+                    algorithm.getName());
+            assertTrue(movesAfterCancel[0] <= 3L * n, algorithm.getName() + " made " + movesAfterCancel[0] + " moves");
+        }
+    }
+
+    /**
+     * Tests that the guard forwards every step and only throws once the token is cancelled.
+     */
+    @Test
+    void testGuardForwardsSteps() {
+        CancellationToken token = new CancellationToken();
+        int[] calls = new int[4];
+        SortListener listener = token.guard(new SortListener() {
+            @Override
+            public void onCompare(int i, int j) {
+                calls[0]++;
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                calls[1]++;
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                calls[2]++;
+            }
+
+            @Override
+            public void onPartition(int low, int high) {
+                calls[3]++;
+            }
+        });
+
+        listener.onCompare(0, 1);
+        listener.onSwap(0, 1);
+        listener.onWrite(0, 1);
+        listener.onPartition(0, 1);
+        token.cancel();
+        listener.onSwap(0, 1);
+
+        assertThrows(SortCancelledException.class, () -> listener.onPartition(0, 1));
+        assertThrows(SortCancelledException.class, token::throwIfCancelled);
+        assertEquals(1, calls[0]);
+        assertEquals(2, calls[1]);
+        assertEquals(1, calls[2]);
+        assertEquals(1, calls[3]);
+    }
+
+    /**
+     * Tests that guarding {@link SortListener#NONE}, as the instant mode does, keeps the sorts unobserved:
+     * parallel sorts do not serialize it and it is still stopped at the next range.
+     */
+    @Test
+    void testGuardedNoneStaysUnobserved() {
+        CancellationToken token = new CancellationToken();
+        SortListener guard = token.guard(SortListener.NONE);
+
+        assertFalse(guard.observesSteps());
+        assertSame(guard, SortListener.synchronizedListener(guard));
+        assertTrue(token.guard(new StepCounter()).observesSteps());
+
+        int[] numbers = new Random(22).ints(300_000).toArray();
+        new ParallelQuickSort().sort(numbers, false, guard);
+        assertTrue(SortAlgorithms.isSorted(numbers, false));
+
+        token.cancel();
+        assertThrows(SortCancelledException.class,
+                () -> new ParallelQuickSort().sort(new Random(23).ints(300_000).toArray(), false, guard));
+    }
+}
@@ -0,0 +1,101 @@
+package com.inlarin.testswingapp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators of the input distributions used by tests and benchmarks.
+ */
+final class Datasets {
+
+    /**
+     * Uniformly random numbers in the generated 1..1000 domain.
+     */
+    static final String RANDOM = "random";
+
+    /**
+     * Strictly ascending numbers.
+     */
+    static final String SORTED = "sorted";
+
+    /**
+     * Strictly descending numbers.
+     */
+    static final String REVERSED = "reversed";
+
+    /**
+     * A single repeated value.
+     */
+    static final String ALL_EQUAL = "allEqual";
+
+    /**
+     * Repeated ascending runs of 1000 values.
+     */
+    static final String SAWTOOTH = "sawtooth";
+
+    /**
+     * Ascending first half followed by a descending second half.
+     */
+    static final String ORGAN_PIPE = "organPipe";
+
+    /**
+     * Musser's sequence that drives a median-of-three quicksort into quadratic behaviour.
+     */
+    static final String MEDIAN_OF_THREE_KILLER = "medianOfThreeKiller";
+
+    /**
+     * Distributions that are known to hurt naive quicksort pivot choices.
+     */
+    static final List<String> ADVERSARIAL = List.of(SORTED, REVERSED, ALL_EQUAL, SAWTOOTH, ORGAN_PIPE, MEDIAN_OF_THREE_KILLER);
+
+    private Datasets() {
+    }
+
+    /**
+     * Generates an array of the given distribution.
+     *
+     * @param distribution one of the distribution constants of this class
+     * @param size         the number of elements
+     * @param seed         the seed for random distributions
+     * @return a new array
+     */
+    static int[] generate(String distribution, int size, long seed) {
+        int[] arr = new int[size];
+        switch (distribution) {
+            case RANDOM -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < size; i++) {
+                    arr[i] = random.nextInt(1000) + 1;
+                }
+            }
+            case SORTED -> Arrays.setAll(arr, i -> i);
+            case REVERSED -> Arrays.setAll(arr, i -> size - i);
+            case ALL_EQUAL -> Arrays.fill(arr, 7);
+            case SAWTOOTH -> Arrays.setAll(arr, i -> i % 1000);
+            case ORGAN_PIPE -> Arrays.setAll(arr, i -> i < size / 2 ? i : size - i);
+            case MEDIAN_OF_THREE_KILLER -> medianOfThreeKiller(arr);
+            default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return arr;
+    }
+
+    /**
+     * Fills the array with Musser's median-of-three killer sequence.
+     *
+     * @param arr the array to fill
+     */
+    private static void medianOfThreeKiller(int[] arr) {
+        int half = arr.length / 2;
+        for (int i = 1; i <= half; i++) {
+            if (i % 2 == 1) {
+                arr[i - 1] = i;
+                arr[i] = half + i;
+            }
+            arr[half + i - 1] = 2 * i;
+        }
+        for (int i = 2 * half; i < arr.length; i++) {
+            arr[i] = arr.length;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.inlarin.testswingapp;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that sorts, their partitions and repaints of the grid show up in a Flight Recorder recording.
+ */
+class FlightRecorderEventsTest {
+
+    /**
+     * Tests that an observed sort is recorded with its fields, and its partition batches cover every range.
+     */
+    @Test
+    void testRecordsSortAndPartitionBatches() throws Exception {
+        int[] numbers = new Random(25).ints(100_000, 0, 1000).toArray();
+        StepCounter counter = new StepCounter();
+
+        List<RecordedEvent> events = record(() ->
+                new SortStats().sort(new QuickSort(), numbers, true, counter));
+
+        List<RecordedEvent> sorts = named(events, "com.inlarin.testswingapp.Sort");
+        assertEquals(1, sorts.size());
+        RecordedEvent sort = sorts.get(0);
+        assertEquals("Quicksort", sort.getString("algorithm"));
+        assertEquals(100_000, sort.getInt("count"));
+        assertEquals(SortOrder.DESCENDING.name(), sort.getString("order"));
+        assertEquals(counter.getCompares(), sort.getLong("compares"));
+        assertEquals(counter.getSwaps(), sort.getLong("swaps"));
+        assertFalse(sort.getBoolean("cancelled"));
+
+        List<RecordedEvent> batches = named(events, "com.inlarin.testswingapp.PartitionBatch");
+        assertTrue(batches.size() > 1);
+        assertEquals(counter.getPartitions(), batches.stream().mapToLong(batch -> batch.getInt("partitions")).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.getInt("partitions") <= SortStats.PARTITION_BATCH));
+        assertTrue(batches.stream().allMatch(batch -> batch.getString("order").equals(SortOrder.DESCENDING.name())));
+    }
+
+    /**
+     * Tests that a frame of the animation is recorded with the sort it shows and the moves it applied.
+     */
+    @Test
+    void testRecordsFrame() throws Exception {
+        NumbersModel model = new NumbersModel();
+        model.setValues(new int[]{3, 2, 1});
+        model.setSortAlgorithm("Quicksort");
+        model.setSortOrder(SortOrder.ASCENDING);
+        AnimationScheduler scheduler = new AnimationScheduler(model);
+        scheduler.setFrameDelay((int) TimeUnit.MINUTES.toMillis(1));
+        scheduler.setStepsPerFrame(10);
+
+        List<RecordedEvent> events = record(() -> {
+            try {
+                SwingUtilities.invokeAndWait(() -> {
+                    AnimationScheduler.Animation animation = scheduler.start(() -> {
+                    });
+                    animation.onSwap(0, 2);
+                    animation.finish(new int[]{1, 2, 3});
+                    scheduler.playFrame();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<RecordedEvent> frames = named(events, "com.inlarin.testswingapp.Frame");
+        assertEquals(1, frames.size());
+        RecordedEvent frame = frames.get(0);
+        assertEquals("Quicksort", frame.getString("algorithm"));
+        assertEquals(SortOrder.ASCENDING.name(), frame.getString("order"));
+        assertEquals(3, frame.getInt("count"));
+        assertEquals(1, frame.getInt("moves"));
+        assertTrue(frame.getBoolean("done"));
+    }
+
+    /**
+     * Tests that a paint of the grid is recorded with the sort it shows and the number of cells it painted.
+     */
+    @Test
+    void testRecordsRepaint() throws Exception {
+        NumbersModel model = new NumbersModel();
+        model.setValues(IntStream.range(0, 1000).toArray());
+        model.setSortAlgorithm("Heap sort");
+        model.setSortOrder(SortOrder.DESCENDING);
+        NumbersGrid grid = new NumbersGrid(model, 10, 60, 25, 5);
+        grid.setSize(grid.getPreferredSize());
+        BufferedImage image = new BufferedImage(650, 350, BufferedImage.TYPE_INT_RGB);
+
+        List<RecordedEvent> events = record(() -> {
+            Graphics2D graphics = image.createGraphics();
+            graphics.setClip(0, 0, 650, 350);
+            grid.paint(graphics);
+            graphics.dispose();
+        });
+
+        List<RecordedEvent> repaints = named(events, "com.inlarin.testswingapp.Repaint");
+        assertEquals(1, repaints.size());
+        assertEquals("Heap sort", repaints.get(0).getString("algorithm"));
+        assertEquals(SortOrder.DESCENDING.name(), repaints.get(0).getString("order"));
+        assertEquals(1000, repaints.get(0).getInt("count"));
+        assertEquals(100, repaints.get(0).getInt("cells"));
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = Files.createTempFile("sort", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SortEvent.class);
+            recording.enable(PartitionBatchEvent.class);
+            recording.enable(FrameEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(RepaintEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link NumbersGrid}: the column-major layout, mapping points to indices and painting.
+ * The grid is a lightweight component, so it is painted into an image without showing any window.
+ */
+class NumbersGridTest {
+
+    /**
+     * Number of cells in a column.
+     */
+    private static final int ROWS = 10;
+
+    /**
+     * Width of a cell.
+     */
+    private static final int CELL_WIDTH = 60;
+
+    /**
+     * Height of a cell.
+     */
+    private static final int CELL_HEIGHT = 25;
+
+    /**
+     * Gap around cells.
+     */
+    private static final int GAP = 5;
+
+    /**
+     * The displayed numbers.
+     */
+    private NumbersModel model;
+
+    /**
+     * The grid under test.
+     */
+    private NumbersGrid grid;
+
+    /**
+     * Creates a grid showing a million numbers.
+     */
+    @BeforeEach
+    void setUp() {
+        model = new NumbersModel();
+        model.setValues(IntStream.range(0, 1_000_000).toArray());
+        grid = new NumbersGrid(model, ROWS, CELL_WIDTH, CELL_HEIGHT, GAP);
+        grid.setSize(grid.getPreferredSize());
+    }
+
+    /**
+     * Tests that the numbers fill the columns from top to bottom.
+     */
+    @Test
+    void testColumnMajorLayout() {
+        assertEquals(100_000, grid.columns());
+        assertEquals(new Rectangle(0, GAP, CELL_WIDTH, CELL_HEIGHT), grid.cellBounds(0));
+        assertEquals(new Rectangle(0, 9 * (CELL_HEIGHT + 2 * GAP) + GAP, CELL_WIDTH, CELL_HEIGHT), grid.cellBounds(9));
+        assertEquals(new Rectangle(CELL_WIDTH + GAP, GAP, CELL_WIDTH, CELL_HEIGHT), grid.cellBounds(10));
+        assertEquals(100_000 * (CELL_WIDTH + GAP), grid.getPreferredSize().width);
+    }
+
+    /**
+     * Tests that points are mapped to the index of the cell under them, and gaps map to no index.
+     */
+    @Test
+    void testIndexAt() {
+        for (int index : new int[]{0, 9, 10, 123_457, 999_999}) {
+            Rectangle bounds = grid.cellBounds(index);
+            assertEquals(index, grid.indexAt(new Point(bounds.x + 1, bounds.y + 1)));
+            assertEquals(index, grid.indexAt(new Point(bounds.x + CELL_WIDTH - 1, bounds.y + CELL_HEIGHT - 1)));
+        }
+        assertEquals(-1, grid.indexAt(new Point(CELL_WIDTH + 1, GAP + 1)));
+        assertEquals(-1, grid.indexAt(new Point(1, 1)));
+        assertEquals(-1, grid.indexAt(new Point(1, ROWS * (CELL_HEIGHT + 2 * GAP) + 1)));
+
+        model.setValues(new int[]{1, 2, 3});
+        assertEquals(-1, grid.indexAt(grid.cellBounds(3).getLocation()));
+    }
+
+    /**
+     * Tests that a clipped paint draws the visible cells in the color of their state.
+     */
+    @Test
+    void testPaintsVisibleCells() {
+        int index = 500_003;
+        model.setState(index, CellState.SWAP_FIRST);
+        Rectangle bounds = grid.cellBounds(index);
+        Rectangle visible = new Rectangle(bounds.x - 200, 0, 400, grid.getHeight());
+
+        BufferedImage image = new BufferedImage(visible.width, visible.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.translate(-visible.x, -visible.y);
+        g.setClip(visible);
+        grid.paint(g);
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), image.getRGB(bounds.x - visible.x + 1, bounds.y - visible.y + 1));
+        Rectangle neighbour = grid.cellBounds(index + 1);
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(neighbour.x - visible.x + 1, neighbour.y - visible.y + 1));
+    }
+}
@@ -0,0 +1,149 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link NumbersModel}: stored values, display states, known order and change events.
+ */
+class NumbersModelTest {
+
+    /**
+     * The model under test.
+     */
+    private NumbersModel model;
+
+    /**
+     * Events received from the model.
+     */
+    private final List<NumbersModelEvent> events = new ArrayList<>();
+
+    /**
+     * Creates a model with a listener recording every event.
+     */
+    @BeforeEach
+    void setUp() {
+        model = new NumbersModel();
+        model.addNumbersModelListener(events::add);
+    }
+
+    /**
+     * Tests that replacing the numbers copies them, resets the states and fires a structure event for the whole range.
+     */
+    @Test
+    void testSetValues() {
+        int[] numbers = {5, 2, 9};
+        model.setValues(numbers);
+        numbers[0] = 100;
+
+        assertArrayEquals(new int[]{5, 2, 9}, model.toArray());
+        assertEquals(CellState.NORMAL, model.getState(2));
+        assertEvent(0, 0, 2, NumbersModelEvent.Type.STRUCTURE);
+    }
+
+    /**
+     * Tests that swaps and writes fire value events for exactly the changed indices.
+     */
+    @Test
+    void testSortStepsFireValueEvents() {
+        model.setValues(new int[]{5, 2, 9, 1});
+        model.swap(0, 3);
+        model.write(2, 7);
+
+        assertArrayEquals(new int[]{1, 2, 7, 5}, model.toArray());
+        assertEquals(4, events.size());
+        assertEvent(1, 0, 0, NumbersModelEvent.Type.VALUES);
+        assertEvent(2, 3, 3, NumbersModelEvent.Type.VALUES);
+        assertEvent(3, 2, 2, NumbersModelEvent.Type.VALUES);
+    }
+
+    /**
+     * Tests that display states are stored per index and reported as state events.
+     */
+    @Test
+    void testStates() {
+        model.setValues(new int[]{5, 2, 9, 1});
+        model.setStates(1, 2, CellState.WRITE);
+
+        assertEquals(CellState.NORMAL, model.getState(0));
+        assertEquals(CellState.WRITE, model.getState(1));
+        assertEquals(CellState.WRITE, model.getState(2));
+        assertEvent(1, 1, 2, NumbersModelEvent.Type.STATES);
+    }
+
+    /**
+     * Tests that replacing the numbers forgets their known order and the shown sort, while sort steps keep the order.
+     */
+    @Test
+    void testKnownOrderInvalidation() {
+        model.setValues(new int[]{1, 2, 3});
+        model.setKnownOrder(SortOrder.ASCENDING);
+        model.swap(0, 0);
+        assertEquals(SortOrder.ASCENDING, model.getKnownOrder());
+
+        model.setSortAlgorithm("Quicksort");
+        model.setSortOrder(SortOrder.DESCENDING);
+        model.setValues(new int[]{3, 2, 1});
+        assertEquals(SortOrder.UNSORTED, model.getKnownOrder());
+        assertNull(model.getSortAlgorithm());
+        assertEquals(SortOrder.UNSORTED, model.getSortOrder());
+    }
+
+    /**
+     * Tests that changes made during an update are fired as one event per kind when the outermost update ends.
+     */
+    @Test
+    void testUpdateCoalescesEvents() {
+        model.setValues(new int[]{5, 2, 9, 1, 7});
+        model.beginUpdate();
+        model.swap(3, 1);
+        model.beginUpdate();
+        model.write(4, 0);
+        model.setState(2, CellState.WRITE);
+        model.endUpdate();
+        assertEquals(1, events.size());
+
+        model.endUpdate();
+        assertEquals(3, events.size());
+        assertEvent(1, 1, 4, NumbersModelEvent.Type.VALUES);
+        assertEvent(2, 2, 2, NumbersModelEvent.Type.STATES);
+    }
+
+    /**
+     * Tests that a removed listener is no longer notified.
+     */
+    @Test
+    void testRemoveListener() {
+        NumbersModelListener listener = events::add;
+        NumbersModel other = new NumbersModel();
+        other.addNumbersModelListener(listener);
+        other.removeNumbersModelListener(listener);
+        other.setValues(new int[]{1});
+
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * Checks a received event.
+     *
+     * @param position   the position of the event among the received ones
+     * @param firstIndex the expected first index
+     * @param lastIndex  the expected last index
+     * @param type       the expected kind of change
+     */
+    private void assertEvent(int position, int firstIndex, int lastIndex, NumbersModelEvent.Type type) {
+        NumbersModelEvent event = events.get(position);
+        assertEquals(firstIndex, event.getFirstIndex());
+        assertEquals(lastIndex, event.getLastIndex());
+        assertEquals(type, event.getType());
+        assertEquals(model, event.getSource());
+    }
+}
@@ -0,0 +1,207 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Measures the view side of regenerating the numbers as their count grows: building the model, grid and scroll pane,
+ * replacing the numbers of an existing view and laying it out again, and painting the visible part of the view.
+ * The view is put together like the numbers panel of {@link SimpleSPA}. Every operation runs on the event dispatch
+ * thread, as in the application, and the grid is painted into an image, so no window is needed and the fork runs
+ * headless; to measure with a real toolkit run it under Xvfb with {@code -jvmArgs -Djava.awt.headless=false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class NumbersViewBenchmark {
+
+    /**
+     * Number of cells in a column, as in the application.
+     */
+    private static final int ROWS = 10;
+
+    /**
+     * Number of columns visible without scrolling, as in the application.
+     */
+    private static final int VISIBLE_COLUMNS = 10;
+
+    /**
+     * Width of a cell.
+     */
+    private static final int CELL_WIDTH = 60;
+
+    /**
+     * Height of a cell.
+     */
+    private static final int CELL_HEIGHT = 25;
+
+    /**
+     * Gap around cells.
+     */
+    private static final int GAP = 5;
+
+    /**
+     * Number of numbers shown.
+     */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int count;
+
+    /**
+     * Two sets of numbers, the regeneration benchmark alternates between them.
+     */
+    private int[][] numbers;
+
+    /**
+     * Set of numbers shown next by the regeneration benchmark.
+     */
+    private int next;
+
+    /**
+     * Model of the prepared view.
+     */
+    private NumbersModel model;
+
+    /**
+     * Scroll pane of the prepared view.
+     */
+    private JScrollPane scrollPane;
+
+    /**
+     * Panel holding the prepared view.
+     */
+    private JPanel panel;
+
+    /**
+     * Image the view is painted into, the size of the application window.
+     */
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        numbers = new int[][]{
+                random.ints(count, SortEngine.ARRAY_MIN_NUMBER, SortEngine.ARRAY_MAX_NUMBER + 1).toArray(),
+                random.ints(count, SortEngine.ARRAY_MIN_NUMBER, SortEngine.ARRAY_MAX_NUMBER + 1).toArray()
+        };
+        image = new BufferedImage(1000, 600, BufferedImage.TYPE_INT_RGB);
+        panel = onEdt(() -> buildView(numbers[0]));
+        scrollPane = (JScrollPane) panel.getComponent(0);
+        model = ((NumbersGrid) scrollPane.getViewport().getView()).getModel();
+    }
+
+    /**
+     * Builds a new view for the numbers and lays it out, as on the first display of the numbers.
+     *
+     * @return the laid out panel
+     */
+    @Benchmark
+    public JPanel construct() {
+        return onEdt(() -> buildView(numbers[0]));
+    }
+
+    /**
+     * Replaces the numbers of the prepared view, sizes its scroll pane and lays it out again,
+     * as after a click regenerating the numbers.
+     *
+     * @return the laid out panel
+     */
+    @Benchmark
+    public JPanel regenerate() {
+        int[] values = numbers[next];
+        next ^= 1;
+        return onEdt(() -> {
+            model.setValues(values);
+            sizeScrollPane(scrollPane, values.length);
+            panel.validate();
+            return panel;
+        });
+    }
+
+    /**
+     * Paints the prepared view, as the first paint after the numbers were shown.
+     *
+     * @return the image painted into
+     */
+    @Benchmark
+    public BufferedImage paint() {
+        return onEdt(() -> {
+            Graphics2D graphics = image.createGraphics();
+            try {
+                panel.paint(graphics);
+            } finally {
+                graphics.dispose();
+            }
+            return image;
+        });
+    }
+
+    private static JPanel buildView(int[] values) {
+        NumbersModel model = new NumbersModel();
+        model.setValues(values);
+        NumbersGrid grid = new NumbersGrid(model, ROWS, CELL_WIDTH, CELL_HEIGHT, GAP);
+        JScrollPane scrollPane = new JScrollPane(grid);
+        scrollPane.setBorder(null);
+        sizeScrollPane(scrollPane, values.length);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(scrollPane, BorderLayout.WEST);
+        panel.setSize(1000, 600);
+        panel.validate();
+        return panel;
+    }
+
+    /**
+     * Sizes the scroll pane to the number of numbers the way {@link SimpleSPA#updateJScrollPane()} does.
+     *
+     * @param scrollPane the scroll pane
+     * @param size       the number of numbers
+     */
+    private static void sizeScrollPane(JScrollPane scrollPane, int size) {
+        int columns = (size + ROWS - 1) / ROWS;
+        scrollPane.setHorizontalScrollBarPolicy(columns > VISIBLE_COLUMNS
+                ? JScrollPane.HORIZONTAL_SCROLLBAR_ALWAYS : JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
+        scrollPane.setPreferredSize(new Dimension((CELL_WIDTH + GAP) * Math.min(columns, VISIBLE_COLUMNS),
+                (CELL_HEIGHT + GAP * 2) * ROWS));
+        scrollPane.getHorizontalScrollBar().setPreferredSize(new Dimension(CELL_WIDTH, GAP));
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(CELL_WIDTH + GAP);
+    }
+
+    private static <T> T onEdt(Supplier<T> task) {
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(task.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return result.get();
+    }
+}
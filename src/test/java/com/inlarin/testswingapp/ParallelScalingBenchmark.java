@@ -0,0 +1,90 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the {@link ParallelQuickSort} scales with the number of worker threads, each run in a pool of its own.
+ * The speedup for n threads is the time with 1 thread divided by the time with n; thread counts above the number of
+ * cores of the machine show the cost of oversubscription. The largest size needs about 1.2 GB of heap for the input,
+ * the working copy and the buffer of the parallel partition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ParallelScalingBenchmark {
+
+    /**
+     * Number of worker threads of the pool.
+     */
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    /**
+     * Input distribution, see {@link Datasets}.
+     */
+    @Param({Datasets.RANDOM, Datasets.SAWTOOTH})
+    public String distribution;
+
+    /**
+     * Number of elements to sort.
+     */
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    /**
+     * Unsorted input, generated once per trial.
+     */
+    private int[] source;
+
+    /**
+     * Array sorted in place by every invocation.
+     */
+    private int[] work;
+
+    /**
+     * Pool running the sort with the requested number of threads.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Sort under test.
+     */
+    private ParallelQuickSort parallelSort;
+
+    @Setup
+    public void setUp() {
+        source = Datasets.generate(distribution, size, 42);
+        work = new int[size];
+        pool = new ForkJoinPool(threads);
+        parallelSort = new ParallelQuickSort(pool, ParallelQuickSort.DEFAULT_THRESHOLD, PartitionScheme.LOMUTO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(source, 0, work, 0, size);
+        parallelSort.sort(work, false, SortListener.NONE);
+        return work;
+    }
+}
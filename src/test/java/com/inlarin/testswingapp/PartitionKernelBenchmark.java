@@ -0,0 +1,113 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the order-specialised partition kernels with the original partition loop,
+ * which re-read the mutable {@code descendingOrder} field of the frame on every comparison.
+ * The baseline re-reads a volatile field on every comparison as well, so the JIT cannot hoist the read.
+ * Each invocation partitions a fresh copy of the whole array once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionKernelBenchmark {
+
+    /**
+     * Number of elements to partition.
+     */
+    @Param({"10000", "1000000"})
+    public int size;
+
+    /**
+     * Sorting order.
+     */
+    @Param({"false", "true"})
+    public boolean descending;
+
+    /**
+     * Mutable order flag read by the original loop, as the frame field was. That field was toggled by the event
+     * dispatch thread while the sort ran, so it is volatile here: a plain field would let the JIT hoist the read
+     * out of the loop, which the original loop could not rely on.
+     */
+    private volatile boolean descendingOrder;
+
+    /**
+     * Unsorted input, generated once per trial.
+     */
+    private int[] source;
+
+    /**
+     * Array partitioned in place by every invocation.
+     */
+    private int[] work;
+
+    /**
+     * Kernel chosen once for the trial.
+     */
+    private PartitionKernel kernel;
+
+    @Setup
+    public void setUp() {
+        source = Datasets.generate(Datasets.RANDOM, size, 42);
+        work = new int[size];
+        descendingOrder = descending;
+        kernel = PartitionScheme.LOMUTO.kernel(descending);
+    }
+
+    @Benchmark
+    public long specialisedKernel() {
+        System.arraycopy(source, 0, work, 0, size);
+        return kernel.partition(work, 0, size - 1, SortListener.NONE);
+    }
+
+    @Benchmark
+    public long originalLoop() {
+        System.arraycopy(source, 0, work, 0, size);
+        return originalPartition(work, 0, size - 1);
+    }
+
+    /**
+     * The partition loop as it was in {@code SimpleSPA.SortAction}, with the same pivot choice as the kernel.
+     */
+    private int originalPartition(int[] arr, int low, int high) {
+        int middle = PartitionScheme.selectPivot(arr, low, high, SortListener.NONE);
+        int pivot = arr[middle];
+
+        swap(arr, middle, high);
+
+        int i = low;
+        for (int j = low; j < high; j++) {
+            boolean condition = descendingOrder ? arr[j] >= pivot : arr[j] <= pivot;
+            if (condition) {
+                swap(arr, i, j);
+                i++;
+            }
+        }
+
+        swap(arr, i, high);
+
+        return i;
+    }
+
+    private static void swap(int[] arr, int index1, int index2) {
+        int temp = arr[index1];
+        arr[index1] = arr[index2];
+        arr[index2] = temp;
+    }
+}
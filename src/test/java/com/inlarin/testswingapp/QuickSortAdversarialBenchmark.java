@@ -0,0 +1,78 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression benchmark of the quicksort on inputs that degrade naive pivot choices.
+ * {@link Arrays#sort(int[])} on the same input is the reference; the input copy is part of both measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuickSortAdversarialBenchmark {
+
+    /**
+     * Input distribution, see {@link Datasets}.
+     */
+    @Param({Datasets.SORTED, Datasets.REVERSED, Datasets.ALL_EQUAL, Datasets.SAWTOOTH, Datasets.ORGAN_PIPE,
+            Datasets.MEDIAN_OF_THREE_KILLER})
+    public String distribution;
+
+    /**
+     * Number of elements to sort.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * Unsorted input, generated once per trial.
+     */
+    private int[] source;
+
+    /**
+     * Array sorted in place by every invocation.
+     */
+    private int[] work;
+
+    /**
+     * Sort under test.
+     */
+    private QuickSort quickSort;
+
+    @Setup
+    public void setUp() {
+        source = Datasets.generate(distribution, size, 42);
+        work = new int[size];
+        quickSort = new QuickSort();
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        quickSort.sort(work, false, SortListener.NONE);
+        return work;
+    }
+
+    @Benchmark
+    public int[] jdkSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Arrays.sort(work);
+        return work;
+    }
+}
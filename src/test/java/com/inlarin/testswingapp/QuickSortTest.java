@@ -0,0 +1,314 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the {@link QuickSort} hot path.
+ */
+class QuickSortTest {
+
+    /**
+     * Number of elements sorted in each iteration.
+     */
+    private static final int SIZE = 10_000;
+
+    /**
+     * Number of sorts used to let the JIT compile the sort before measuring.
+     */
+    private static final int WARM_UP_ITERATIONS = 2_000;
+
+    /**
+     * Number of sorts measured after the warm-up.
+     */
+    private static final int MEASURED_ITERATIONS = 200;
+
+    /**
+     * Tests that after warm-up a sort allocates nothing on the sorting thread:
+     * the explicit stack is primitive and reused, so no Integer boxing or stack growth happens.
+     */
+    @Test
+    void testSortDoesNotAllocateAfterWarmUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Allocated bytes counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Allocated bytes counters are not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        int[] source = new Random(42).ints(SIZE, 1, 1001).toArray();
+        int[] work = new int[SIZE];
+        QuickSort quickSort = new QuickSort();
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            sortCopy(quickSort, source, work, i);
+        }
+
+        long overhead = -threadBean.getCurrentThreadAllocatedBytes() + threadBean.getCurrentThreadAllocatedBytes();
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sortCopy(quickSort, source, work, i);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertEquals(0, allocated, "Sort hot path should not allocate after warm-up");
+    }
+
+    /**
+     * Tests that a new instance for every sort, as the application creates, still reuses the stack of the thread:
+     * a sort allocates at most its small instance, never a stack of its own.
+     */
+    @Test
+    void testNewInstancesReuseThreadStack() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Allocated bytes counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Allocated bytes counters are not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        int[] source = new Random(43).ints(SIZE, 1, 1001).toArray();
+        int[] work = new int[SIZE];
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            sortCopy(new QuickSort(), source, work, i);
+        }
+
+        long overhead = -threadBean.getCurrentThreadAllocatedBytes() + threadBean.getCurrentThreadAllocatedBytes();
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sortCopy(new QuickSort(), source, work, i);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertTrue(allocated <= MEASURED_ITERATIONS * 32L, allocated + " bytes allocated");
+    }
+
+    /**
+     * Tests that the sort handles already sorted input of a size where an unbounded stack would be deep.
+     */
+    @Test
+    void testSortedInputKeepsWorking() {
+        int[] arr = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arr[i] = i;
+        }
+        new QuickSort().sort(arr, true, SortListener.NONE);
+
+        assertTrue(SortAlgorithms.isSorted(arr, true), "Array should be sorted in descending order");
+    }
+
+    /**
+     * Provides the distributions that degrade a naive quicksort.
+     *
+     * @return stream of distribution names
+     */
+    static Stream<String> adversarialDistributions() {
+        return Datasets.ADVERSARIAL.stream();
+    }
+
+    /**
+     * Regression test for the quicksort worst case: on adversarial input the number of comparisons
+     * must stay within a small multiple of n * log2(n) instead of growing quadratically.
+     */
+    @ParameterizedTest
+    @MethodSource("adversarialDistributions")
+    void testAdversarialInputStaysLinearithmic(String distribution) {
+        int size = 1 << 14;
+        long limit = 4L * size * 14;
+        for (PartitionScheme scheme : PartitionScheme.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                int[] arr = Datasets.generate(distribution, size, 42);
+                long[] comparisons = new long[1];
+                new QuickSort(scheme).sort(arr, descending, new SortListener() {
+                    @Override
+                    public void onCompare(int i, int j) {
+                        comparisons[0]++;
+                    }
+                });
+
+                assertTrue(SortAlgorithms.isSorted(arr, descending), "Array should be sorted");
+                assertTrue(comparisons[0] <= limit,
+                        "Too many comparisons with " + scheme + " on " + distribution + ": " + comparisons[0]);
+            }
+        }
+    }
+
+    /**
+     * Tests that on duplicate-heavy data the three-way partition needs far fewer swaps and comparisons than Lomuto,
+     * because elements equal to the pivot are grouped once and never touched again.
+     */
+    @Test
+    void testThreeWayPartitionReducesWorkOnDuplicates() {
+        long[] lomuto = countSteps(new QuickSort(PartitionScheme.LOMUTO));
+        long[] threeWay = countSteps(new QuickSort(PartitionScheme.THREE_WAY));
+
+        assertTrue(threeWay[0] * 2 < lomuto[0], "Three-way partition should halve the comparisons");
+        assertTrue(threeWay[1] * 2 < lomuto[1], "Three-way partition should halve the swaps");
+    }
+
+    /**
+     * Tests that the vector kernel, or the scalar block kernel it falls back to, sorts every size around the small sort
+     * limit and the block size exactly like the scalar block partition does.
+     */
+    @Test
+    void testVectorSchemeMatchesScalar() {
+        Random random = new Random(42);
+        for (int size = 0; size <= 300; size++) {
+            for (boolean descending : new boolean[]{false, true}) {
+                int[] source = random.ints(size, 1, size / 2 + 2).toArray();
+                int[] scalar = source.clone();
+                int[] vector = source.clone();
+
+                new QuickSort(PartitionScheme.BLOCK).sort(scalar, descending, SortListener.NONE);
+                new QuickSort(PartitionScheme.VECTOR).sort(vector, descending, SortListener.NONE);
+
+                assertArrayEquals(scalar, vector, "Vector kernel differs for size " + size);
+            }
+        }
+    }
+
+    /**
+     * Tests that the parallel sort gives the same result as the sequential one.
+     */
+    @Test
+    void testParallelSortMatchesSequential() {
+        int[] source = new Random(7).ints(200_000).toArray();
+        int[] sequential = source.clone();
+        int[] parallel = source.clone();
+
+        new QuickSort().sort(sequential, false, SortListener.NONE);
+        new ParallelQuickSort(ForkJoinPool.commonPool(), 16, PartitionScheme.LOMUTO).sort(parallel, false, SortListener.NONE);
+
+        assertArrayEquals(sequential, parallel);
+    }
+
+    /**
+     * Tests that both sides of the first partition are sorted at the same time by different workers:
+     * each side waits in its first step until the other one has started.
+     */
+    @Test
+    void testParallelSortSplitsWork() throws Exception {
+        int size = 1 << 18;
+        int[] numbers = new Random(8).ints(size).toArray();
+        CountDownLatch bothSides = new CountDownLatch(2);
+        AtomicBoolean leftStarted = new AtomicBoolean();
+        AtomicBoolean rightStarted = new AtomicBoolean();
+        Set<Thread> sideThreads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        SortListener listener = new SortListener() {
+            @Override
+            public boolean observesSteps() {
+                return false;
+            }
+
+            @Override
+            public void onPartition(int low, int high) {
+                boolean left = low == 0 && high < size - 1 && leftStarted.compareAndSet(false, true);
+                boolean right = high == size - 1 && low > 0 && rightStarted.compareAndSet(false, true);
+                if (left || right) {
+                    sideThreads.add(Thread.currentThread());
+                    bothSides.countDown();
+                    try {
+                        if (!bothSides.await(10, TimeUnit.SECONDS)) {
+                            overlapped.set(false);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new ParallelQuickSort(pool, ParallelQuickSort.DEFAULT_THRESHOLD, PartitionScheme.LOMUTO)
+                    .sort(numbers, false, listener);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(overlapped.get(), "The sides of the first partition were not sorted concurrently");
+        assertEquals(2, sideThreads.size());
+        assertTrue(SortAlgorithms.isSorted(numbers, false));
+    }
+
+    /**
+     * Tests that partitioning with all workers, used for large subarrays of unobserved sorts, sorts in both orders
+     * and keeps every element, also with many duplicates.
+     */
+    @Test
+    void testParallelPartitionSorts() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int bound : new int[]{Integer.MAX_VALUE, 1000, 2}) {
+                int[] source = new Random(bound).ints(ParallelQuickSort.PARALLEL_PARTITION_THRESHOLD * 3, 0, bound)
+                        .toArray();
+                for (boolean descending : new boolean[]{false, true}) {
+                    int[] parallel = source.clone();
+                    int[] sequential = source.clone();
+
+                    new ParallelQuickSort(pool, ParallelQuickSort.DEFAULT_THRESHOLD, PartitionScheme.LOMUTO)
+                            .sort(parallel, descending, SortListener.NONE);
+                    new QuickSort().sort(sequential, descending, SortListener.NONE);
+
+                    assertArrayEquals(sequential, parallel, "bound " + bound + ", descending " + descending);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Sorts generated 1..1000 numbers and counts the reported steps.
+     *
+     * @param quickSort the sort under test
+     * @return the number of comparisons and the number of swaps
+     */
+    private static long[] countSteps(QuickSort quickSort) {
+        int[] arr = Datasets.generate(Datasets.RANDOM, 100_000, 42);
+        long[] steps = new long[2];
+        quickSort.sort(arr, false, new SortListener() {
+            @Override
+            public void onCompare(int i, int j) {
+                steps[0]++;
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                steps[1]++;
+            }
+        });
+
+        assertTrue(SortAlgorithms.isSorted(arr, false), "Array should be sorted");
+        return steps;
+    }
+
+    /**
+     * Copies the source into the work array and sorts it, alternating the order.
+     *
+     * @param quickSort the sort under test
+     * @param source    the unsorted data
+     * @param work      the array to sort in place
+     * @param iteration the iteration number, used to alternate the order
+     */
+    private static void sortCopy(QuickSort quickSort, int[] source, int[] work, int iteration) {
+        System.arraycopy(source, 0, work, 0, source.length);
+        quickSort.sort(work, (iteration & 1) == 0, SortListener.NONE);
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.Test;
 
 import javax.swing.JTextField;
 import javax.swing.JButton;
+import javax.swing.SwingUtilities;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -79,33 +84,143 @@ class SimpleSPATest {
     }
 
     /**
-     * Tests the sorting action of the number buttons in the SimpleSPA.
+     * Tests the sorting action of the numbers in the SimpleSPA.
      * It verifies both ascending and descending order sorting of numbers.
      */
     @Test
     void testSortAction() {
         int[] inputNumbers = {5, 2, 9, 1, 7};
         spa.initNumbersPanel(inputNumbers);
+        spa.setSortMode(SortMode.INSTANT);
         spa.setDescendingOrder(false);
         spa.getSortButton().doClick();
 
         await().atMost(3, TimeUnit.SECONDS).until(() ->
-                Arrays.equals(new Integer[]{1, 2, 5, 7, 9},
-                        spa.getNumberButtons().stream()
-                                .map(jbutton -> Integer.parseInt(jbutton.getText()))
-                                .toArray(Integer[]::new))
+                Arrays.equals(new int[]{1, 2, 5, 7, 9}, spa.getNumbersModel().toArray())
         );
 
         spa.setDescendingOrder(true);
         spa.getSortButton().doClick();
         await().atMost(3, TimeUnit.SECONDS).until(() ->
-                Arrays.equals(new Integer[]{9, 7, 5, 2, 1},
-                        spa.getNumberButtons().stream()
-                                .map(jbutton -> Integer.parseInt(jbutton.getText()))
-                                .toArray(Integer[]::new))
+                Arrays.equals(new int[]{9, 7, 5, 2, 1}, spa.getNumbersModel().toArray())
         );
     }
 
+    /**
+     * Tests that the instant mode sorts a large dataset with a single model update and no highlighted steps.
+     */
+    @Test
+    void testInstantSortAction() {
+        int[] numbers = spa.generateRandomNumbers(100_000);
+        spa.initNumbersPanel(numbers);
+        List<NumbersModelEvent> events = new CopyOnWriteArrayList<>();
+        spa.getNumbersModel().addNumbersModelListener(events::add);
+        spa.setSortMode(SortMode.INSTANT);
+        spa.setDescendingOrder(false);
+        spa.getSortButton().doClick();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> spa.getSortButton().isEnabled());
+
+        assertTrue(SortAlgorithms.isSorted(spa.getNumbersModel().toArray(), false));
+        assertEquals(1, events.size(), "The whole sort should fire one event");
+        assertEquals(NumbersModelEvent.Type.VALUES, events.get(0).getType());
+    }
+
+    /**
+     * Tests that rapidly alternating Sort and Reset in every mode leaves no sort running
+     * and no change reaching the model after the last reset.
+     */
+    @Test
+    void testRapidSortResetCycling() throws Exception {
+        for (SortMode mode : SortMode.values()) {
+            spa.setSortMode(mode);
+            for (int i = 0; i < 10; i++) {
+                spa.initNumbersPanel(spa.generateRandomNumbers(50_000));
+                spa.getSortButton().doClick();
+                spa.getResetButton().doClick();
+            }
+        }
+        List<NumbersModelEvent> lateEvents = new CopyOnWriteArrayList<>();
+        spa.getNumbersModel().addNumbersModelListener(lateEvents::add);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !spa.getSortThread().isAlive());
+        SwingUtilities.invokeAndWait(() -> {
+        });
+
+        assertTrue(lateEvents.isEmpty(), lateEvents.size() + " model events after reset");
+        assertEquals(0, spa.getNumbersModel().size());
+        assertTrue(spa.getSortButton().isEnabled());
+    }
+
+    /**
+     * Tests that a sort started right after cancelling another one with the same algorithm is not disturbed
+     * by the cancelled sort, which may still be running until its next partition.
+     */
+    @Test
+    void testSortAfterCancelWithSameAlgorithm() {
+        spa.setSortMode(SortMode.INSTANT);
+        for (SortAlgorithms.Choice choice : SortAlgorithms.choices()) {
+            spa.setSortAlgorithm(choice);
+            spa.initNumbersPanel(spa.generateRandomNumbers(5_000));
+            spa.setDescendingOrder(false);
+            spa.getSortButton().doClick();
+            spa.initNumbersPanel(spa.generateRandomNumbers(5_000));
+            spa.setDescendingOrder(false);
+            spa.getSortButton().doClick();
+
+            await().atMost(10, TimeUnit.SECONDS).until(() -> spa.getSortButton().isEnabled());
+            assertTrue(SortAlgorithms.isSorted(spa.getNumbersModel().toArray(), false), choice.name());
+        }
+    }
+
+    /**
+     * Tests that clicking Sort again toggles the order of the sorted numbers and records it,
+     * and that displaying new numbers forgets their order.
+     */
+    @Test
+    void testToggleOrderReversesSortedNumbers() {
+        int[] numbers = spa.generateRandomNumbers(101);
+        spa.initNumbersPanel(numbers);
+        spa.setSortMode(SortMode.INSTANT);
+        spa.setDescendingOrder(false);
+
+        spa.getSortButton().doClick();
+        await().atMost(3, TimeUnit.SECONDS).until(() -> spa.getSortButton().isEnabled());
+        assertArrayEquals(IntStream.of(numbers).sorted().toArray(), spa.getNumbersModel().toArray());
+        assertEquals(SortOrder.ASCENDING, spa.getNumbersModel().getKnownOrder());
+
+        spa.getSortButton().doClick();
+        await().atMost(3, TimeUnit.SECONDS).until(() -> spa.getSortButton().isEnabled());
+        int[] expected = IntStream.of(numbers).boxed().sorted(Comparator.reverseOrder()).mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, spa.getNumbersModel().toArray());
+        assertEquals(SortOrder.DESCENDING, spa.getNumbersModel().getKnownOrder());
+
+        spa.initNumbersPanel(spa.generateRandomNumbers(10));
+        assertEquals(SortOrder.UNSORTED, spa.getNumbersModel().getKnownOrder());
+    }
+
+    /**
+     * Tests that selecting the mode and the algorithm in code shows them in their combo boxes,
+     * and that choosing them in the combo boxes selects them for the next sort.
+     */
+    @Test
+    void testSelectionMatchesComboBoxes() {
+        SortAlgorithms.Choice heapSort = SortAlgorithms.choices().stream()
+                .filter(choice -> choice.name().equals("Heapsort"))
+                .findFirst()
+                .orElseThrow();
+
+        spa.setSortMode(SortMode.RECORDED);
+        spa.setSortAlgorithm(heapSort);
+        assertEquals(SortMode.RECORDED, spa.getModeBox().getSelectedItem());
+        assertEquals(heapSort, spa.getAlgorithmBox().getSelectedItem());
+
+        spa.getModeBox().setSelectedItem(SortMode.INSTANT);
+        spa.getAlgorithmBox().setSelectedIndex(0);
+        assertEquals(SortMode.INSTANT, spa.getSortMode());
+        assertEquals(SortAlgorithms.choices().get(0), spa.getSortAlgorithm());
+    }
+
     /**
      * Tests the handling of invalid input in the SimpleSPA.
      * Verifies that entering non-numeric input results a null elements count.
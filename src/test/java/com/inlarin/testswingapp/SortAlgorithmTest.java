@@ -0,0 +1,226 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SortAlgorithm} implementations.
+ * Every algorithm is checked in both orders on several typical datasets,
+ * and the steps it reports are replayed to make sure a listener can mirror the sort exactly.
+ */
+class SortAlgorithmTest {
+
+    /**
+     * Provides every algorithm combined with every dataset.
+     *
+     * @return stream of (algorithm, dataset name, dataset) arguments
+     */
+    static Stream<Arguments> algorithmsAndDatasets() {
+        Random random = new Random(42);
+        int[] randomNumbers = random.ints(500, 1, 1001).toArray();
+        int[] wideNumbers = random.ints(500).toArray();
+        int[] sorted = IntStream.rangeClosed(1, 300).toArray();
+        int[] reversed = IntStream.rangeClosed(1, 300).map(i -> 301 - i).toArray();
+        int[] equal = new int[300];
+        Arrays.fill(equal, 7);
+
+        return SortAlgorithms.all().stream().flatMap(algorithm -> Stream.of(
+                Arguments.of(algorithm, "empty", new int[0]),
+                Arguments.of(algorithm, "single", new int[]{5}),
+                Arguments.of(algorithm, "small", new int[]{5, 2, 9, 1, 7}),
+                Arguments.of(algorithm, "random", randomNumbers),
+                Arguments.of(algorithm, "wide", wideNumbers),
+                Arguments.of(algorithm, "sorted", sorted),
+                Arguments.of(algorithm, "reversed", reversed),
+                Arguments.of(algorithm, "equal", equal)
+        ));
+    }
+
+    /**
+     * Tests that the algorithm sorts the data in ascending order.
+     */
+    @ParameterizedTest(name = "{0} on {1}")
+    @MethodSource("algorithmsAndDatasets")
+    void testSortAscending(SortAlgorithm algorithm, String name, int[] data) {
+        int[] arr = data.clone();
+        algorithm.sort(arr, false, SortListener.NONE);
+
+        assertArrayEquals(expected(data, false), arr);
+    }
+
+    /**
+     * Tests that the algorithm sorts the data in descending order.
+     */
+    @ParameterizedTest(name = "{0} on {1}")
+    @MethodSource("algorithmsAndDatasets")
+    void testSortDescending(SortAlgorithm algorithm, String name, int[] data) {
+        int[] arr = data.clone();
+        algorithm.sort(arr, true, SortListener.NONE);
+
+        assertArrayEquals(expected(data, true), arr);
+    }
+
+    /**
+     * Tests that replaying the reported swaps and writes on a copy of the input gives the same result as the sort,
+     * which is what the UI relies on when it mirrors the sort on the buttons.
+     */
+    @ParameterizedTest(name = "{0} on {1}")
+    @MethodSource("algorithmsAndDatasets")
+    void testReportedStepsReproduceSort(SortAlgorithm algorithm, String name, int[] data) {
+        int[] arr = data.clone();
+        int[] mirror = data.clone();
+        algorithm.sort(arr, true, new SortListener() {
+            @Override
+            public void onSwap(int i, int j) {
+                int temp = mirror[i];
+                mirror[i] = mirror[j];
+                mirror[j] = temp;
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                mirror[index] = value;
+            }
+        });
+
+        assertArrayEquals(arr, mirror);
+    }
+
+    /**
+     * Tests that counting sort is chosen for the generated 1..1000 domain and radix sort for the full int range.
+     */
+    @Test
+    void testCountingSortRangeSelection() {
+        assertTrue(CountingSort.fitsCounting(1, 1000, 5), "Generated numbers should be counted");
+        assertTrue(CountingSort.fitsCounting(0, 999_999, 1_000_000), "Range as wide as the array should be counted");
+        assertFalse(CountingSort.fitsCounting(Integer.MIN_VALUE, Integer.MAX_VALUE, 1_000_000), "Full int range should use radix sort");
+    }
+
+    /**
+     * Tests that pdqsort sorts a reverse-sorted array, as every second click on "Sort" produces,
+     * with a single reversal pass instead of a full sort.
+     */
+    @Test
+    void testPdqSortReversesReverseSortedInputInLinearTime() {
+        int size = 10_000;
+        int[] arr = new Random(42).ints(size, 1, 1001).toArray();
+        PdqSort pdqSort = new PdqSort();
+        pdqSort.sort(arr, false, SortListener.NONE);
+
+        long[] steps = new long[2];
+        pdqSort.sort(arr, true, new SortListener() {
+            @Override
+            public void onCompare(int i, int j) {
+                steps[0]++;
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                steps[1]++;
+            }
+        });
+
+        assertTrue(SortAlgorithms.isSorted(arr, true), "Array should be sorted in descending order");
+        assertTrue(steps[0] <= size, "Reverse-sorted input should be detected with one scan");
+        assertEquals(size / 2, steps[1], "Reverse-sorted input should take n/2 swaps");
+    }
+
+    /**
+     * Tests that the adaptive sort routes typical inputs to the expected algorithm and keeps the last decision.
+     */
+    @Test
+    void testAdaptiveSortRouting() {
+        AdaptiveSort adaptiveSort = new AdaptiveSort(4);
+        Random random = new Random(7);
+        int size = AdaptiveSort.PARALLEL_THRESHOLD;
+
+        assertRoute(adaptiveSort, random.ints(1000, 1, 1001).toArray(), AdaptiveSort.Route.COUNTING);
+        assertRoute(adaptiveSort, IntStream.range(0, 1000).map(i -> i * 100_000).toArray(), AdaptiveSort.Route.RUN_MERGE);
+        assertRoute(adaptiveSort, IntStream.range(0, 1000).map(i -> -i * 100_000).toArray(), AdaptiveSort.Route.RUN_MERGE);
+        assertRoute(adaptiveSort, random.ints(1000).toArray(), AdaptiveSort.Route.PDQ);
+        assertRoute(adaptiveSort, random.ints(size).toArray(), AdaptiveSort.Route.PARALLEL);
+        assertRoute(adaptiveSort, random.ints(size, 0, 8).map(i -> i << 24).toArray(), AdaptiveSort.Route.PDQ);
+        assertRoute(new AdaptiveSort(1), random.ints(size).toArray(), AdaptiveSort.Route.PDQ);
+    }
+
+    /**
+     * Tests that the sampled inversions alone decide whether short runs are merged: the same blocks of 12 ascending
+     * values go to the run merge in order or reversed, but to pdqsort once the blocks are shuffled.
+     */
+    @Test
+    void testAdaptiveSortRoutesByInversions() {
+        int size = 4096;
+        int block = 12;
+        int[] inOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            inOrder[i] = i % block == 0 && i > 0 ? i * 100_000 - 150_000 : i * 100_000;
+        }
+        int[] reversed = IntStream.range(0, size).map(i -> inOrder[size - 1 - i]).toArray();
+        List<Integer> blocks = IntStream.range(0, (size + block - 1) / block).boxed().collect(Collectors.toList());
+        Collections.shuffle(blocks, new Random(11));
+        int[] shuffled = blocks.stream()
+                .flatMapToInt(b -> Arrays.stream(inOrder, b * block, Math.min(size, (b + 1) * block)))
+                .toArray();
+
+        AdaptiveSort adaptiveSort = new AdaptiveSort(4);
+        for (int[] data : new int[][]{inOrder, reversed, shuffled}) {
+            AdaptiveSort.Decision decision = adaptiveSort.decide(data, false);
+            assertTrue(decision.runs() * AdaptiveSort.MIN_AVERAGE_RUN > size, decision::toString);
+            assertTrue(decision.runs() * AdaptiveSort.MIN_PRESORTED_RUN <= size, decision::toString);
+        }
+        assertRoute(adaptiveSort, inOrder.clone(), AdaptiveSort.Route.RUN_MERGE);
+        assertRoute(adaptiveSort, reversed.clone(), AdaptiveSort.Route.RUN_MERGE);
+        assertRoute(adaptiveSort, shuffled.clone(), AdaptiveSort.Route.PDQ);
+    }
+
+    /**
+     * Sorts the data with the adaptive sort and checks the result and the recorded decision.
+     *
+     * @param adaptiveSort the sort under test
+     * @param data         the data to sort, sorted in place
+     * @param route        the expected route
+     */
+    private static void assertRoute(AdaptiveSort adaptiveSort, int[] data, AdaptiveSort.Route route) {
+        int[] expected = expected(data, false);
+        adaptiveSort.sort(data, false, SortListener.NONE);
+
+        assertArrayEquals(expected, data);
+        assertEquals(route, adaptiveSort.getLastDecision().route(), () -> adaptiveSort.getLastDecision().toString());
+        assertEquals(data.length, adaptiveSort.getLastDecision().size());
+    }
+
+    /**
+     * Sorts a copy of the data with the JDK for comparison.
+     *
+     * @param data       the unsorted data
+     * @param descending true for descending order
+     * @return the data sorted in the requested order
+     */
+    private static int[] expected(int[] data, boolean descending) {
+        int[] sorted = data.clone();
+        Arrays.sort(sorted);
+        if (descending) {
+            for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                int temp = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = temp;
+            }
+        }
+        return sorted;
+    }
+}
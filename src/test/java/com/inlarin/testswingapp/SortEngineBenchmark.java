@@ -0,0 +1,128 @@
+package com.inlarin.testswingapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sort engines with {@link Arrays#sort(int[])} and {@link Arrays#parallelSort(int[])} across sizes
+ * from 10 to 10^8 and the distributions of {@link Datasets}, reporting both throughput and average time.
+ * The input copy is part of every measurement. The benchmarks profile adds the GC profiler, so the results also show
+ * the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) of every engine.
+ * The full matrix takes hours; narrow it down when running JMH directly, for example
+ * {@code java -cp ... org.openjdk.jmh.Main SortEngineBenchmark -p size=100000 -p engine=pdq,jdk -prof gc}.
+ * At the largest size the input and its copy take 800 MB of heap, and the merge, radix and parallel engines
+ * allocate a buffer of another 400 MB, so the fork is given a fixed 2 GB heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SortEngineBenchmark {
+
+    /**
+     * Sort under test: one of the engines of this project, or a JDK reference. Every algorithm offered in the UI
+     * is listed except insertion sort, which is quadratic and would not finish the larger sizes.
+     * The vector quicksort is the block quicksort unless the benchmarks run with the {@code vector} profile.
+     */
+    @Param({"quick", "quickThreeWay", "quickBlock", "quickVector", "pdq", "adaptive", "parallelQuick", "merge",
+            "runMerge", "heap", "shell", "radix", "counting", "jdk", "jdkParallel"})
+    public String engine;
+
+    /**
+     * Input distribution, see {@link Datasets}.
+     */
+    @Param({Datasets.RANDOM, Datasets.SORTED, Datasets.REVERSED, Datasets.ALL_EQUAL, Datasets.SAWTOOTH,
+            Datasets.ORGAN_PIPE})
+    public String distribution;
+
+    /**
+     * Number of elements to sort.
+     */
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    /**
+     * Unsorted input, generated once per trial.
+     */
+    private int[] source;
+
+    /**
+     * Array sorted in place by every invocation.
+     */
+    private int[] work;
+
+    /**
+     * Sort under test, the JDK references wrapped as algorithms.
+     */
+    private SortAlgorithm algorithm;
+
+    @Setup
+    public void setUp() {
+        source = Datasets.generate(distribution, size, 42);
+        work = new int[size];
+        algorithm = switch (engine) {
+            case "quick" -> new QuickSort();
+            case "quickThreeWay" -> new QuickSort(PartitionScheme.THREE_WAY);
+            case "quickBlock" -> new QuickSort(PartitionScheme.BLOCK);
+            case "quickVector" -> new QuickSort(PartitionScheme.VECTOR);
+            case "pdq" -> new PdqSort();
+            case "adaptive" -> new AdaptiveSort();
+            case "parallelQuick" -> new ParallelQuickSort();
+            case "merge" -> new MergeSort();
+            case "runMerge" -> new RunMergeSort();
+            case "heap" -> new HeapSort();
+            case "shell" -> new ShellSort();
+            case "radix" -> new RadixSort();
+            case "counting" -> new CountingSort();
+            case "jdk" -> jdk("Arrays.sort", false);
+            case "jdkParallel" -> jdk("Arrays.parallelSort", true);
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(source, 0, work, 0, size);
+        algorithm.sort(work, false, SortListener.NONE);
+        return work;
+    }
+
+    /**
+     * Wraps a JDK sort as an algorithm, ascending order only.
+     *
+     * @param name     the name of the sort
+     * @param parallel true for {@link Arrays#parallelSort(int[])}, false for {@link Arrays#sort(int[])}
+     * @return the algorithm
+     */
+    private static SortAlgorithm jdk(String name, boolean parallel) {
+        return new SortAlgorithm() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void sort(int[] arr, boolean descending, SortListener listener) {
+                if (parallel) {
+                    Arrays.parallelSort(arr);
+                } else {
+                    Arrays.sort(arr);
+                }
+            }
+        };
+    }
+}
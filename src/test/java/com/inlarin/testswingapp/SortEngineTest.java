@@ -0,0 +1,134 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SortEngine} and {@link SortCli}. None of them needs a display.
+ */
+class SortEngineTest {
+
+    /**
+     * Tests that generated numbers are in range, include a low number and are reproducible with a seed.
+     */
+    @Test
+    void testGenerateRandomNumbers() {
+        int[] numbers = new SortEngine(new Random(1)).generateRandomNumbers(10_000);
+
+        assertEquals(10_000, numbers.length);
+        assertTrue(IntStream.of(numbers).allMatch(num ->
+                num >= SortEngine.ARRAY_MIN_NUMBER && num <= SortEngine.ARRAY_MAX_NUMBER));
+        assertTrue(IntStream.of(numbers).anyMatch(num -> num <= SortEngine.ARRAY_SPECIFIC_ELEMENT));
+        assertArrayEquals(numbers, new SortEngine(new Random(1)).generateRandomNumbers(10_000));
+        assertEquals(0, new SortEngine().generateRandomNumbers(0).length);
+    }
+
+    /**
+     * Tests that the known order decides between leaving the numbers alone, reversing them and sorting them.
+     */
+    @Test
+    void testSortUsesKnownOrder() {
+        int[] numbers = new SortEngine(new Random(2)).generateRandomNumbers(101);
+        StepCounter counter = new StepCounter();
+
+        assertEquals(SortOrder.ASCENDING, SortEngine.sort(numbers, SortOrder.UNSORTED, new QuickSort(), false, counter));
+        assertTrue(SortAlgorithms.isSorted(numbers, false));
+
+        StepCounter reversal = new StepCounter();
+        assertEquals(SortOrder.DESCENDING, SortEngine.sort(numbers, SortOrder.ASCENDING, new QuickSort(), true, reversal));
+        assertTrue(SortAlgorithms.isSorted(numbers, true));
+        assertEquals(numbers.length / 2, reversal.getSwaps());
+
+        StepCounter nothing = new StepCounter();
+        SortEngine.sort(numbers, SortOrder.DESCENDING, new QuickSort(), true, nothing);
+        assertEquals(0, nothing.getSwaps() + nothing.getWrites() + nothing.getCompares());
+    }
+
+    /**
+     * Tests that verification rejects results that are out of order or do not hold the input numbers.
+     */
+    @Test
+    void testVerify() {
+        int[] original = {3, 1, 2, 2};
+
+        assertTrue(SortEngine.verify(original, new int[]{1, 2, 2, 3}, false));
+        assertTrue(SortEngine.verify(original, new int[]{3, 2, 2, 1}, true));
+        assertFalse(SortEngine.verify(original, new int[]{1, 2, 3, 2}, false));
+        assertFalse(SortEngine.verify(original, new int[]{1, 2, 3, 3}, false));
+        assertFalse(SortEngine.verify(original, new int[]{1, 2, 3}, false));
+    }
+
+    /**
+     * Tests that measuring a sort counts its steps only when asked to.
+     */
+    @Test
+    void testMeasure() {
+        int[] numbers = new SortEngine(new Random(3)).generateRandomNumbers(5000);
+
+        SortMetrics counted = SortEngine.measure(numbers.clone(), new MergeSort(), false, true);
+        assertTrue(counted.sorted());
+        assertEquals("Merge sort", counted.algorithm());
+        assertEquals(5000, counted.size());
+        assertTrue(counted.compares() > 0 && counted.writes() > 0 && counted.partitions() > 0);
+        assertEquals(0, counted.swaps());
+
+        SortMetrics timed = SortEngine.measure(numbers.clone(), new MergeSort(), false, false);
+        assertTrue(timed.sorted());
+        assertEquals(0, timed.compares() + timed.swaps() + timed.writes() + timed.partitions());
+    }
+
+    /**
+     * Tests a command-line run on generated numbers and on a file.
+     */
+    @Test
+    void testCommandLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = SortCli.run(new String[]{"-a", "heapsort", "-s", "4", "-r", "2", "-c", "2000"},
+                new PrintStream(out, true, StandardCharsets.UTF_8), System.err);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertEquals(0, status, output);
+        assertTrue(output.contains("run 1: Heapsort sorted 2000 numbers"), output);
+        assertTrue(output.contains("verified"), output);
+        assertTrue(output.contains("best: "), output);
+
+        Path file = Files.createTempFile("numbers", ".txt");
+        try {
+            Files.writeString(file, "5, 3 -7\n12;0\n");
+            assertArrayEquals(new int[]{5, 3, -7, 12, 0}, SortCli.load(file));
+            out.reset();
+            assertEquals(0, SortCli.run(new String[]{"--descending", "--file", file.toString()},
+                    new PrintStream(out, true, StandardCharsets.UTF_8), System.err));
+            assertTrue(out.toString(StandardCharsets.UTF_8).contains("sorted 5 numbers"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that invalid arguments print the usage and exit with the usage status.
+     */
+    @Test
+    void testCommandLineUsage() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream errStream = new PrintStream(err, true, StandardCharsets.UTF_8);
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+
+        assertEquals(SortCli.EXIT_USAGE, SortCli.run(new String[0], out, errStream));
+        assertEquals(SortCli.EXIT_USAGE, SortCli.run(new String[]{"-a", "Bogosort", "10"}, out, errStream));
+        assertEquals(SortCli.EXIT_USAGE, SortCli.run(new String[]{"10", "--repeat"}, out, errStream));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage: SortCli"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SortStats}.
+ */
+class SortStatsTest {
+
+    /**
+     * Tests that an observed sort adds exactly the steps it reported, and its size, time and stack depth.
+     */
+    @Test
+    void testCountsObservedSort() {
+        SortStats stats = new SortStats();
+        int[] numbers = new Random(24).ints(10_000, 0, 1000).toArray();
+        StepCounter expected = new StepCounter();
+        QuickSort algorithm = new QuickSort();
+
+        stats.sort(algorithm, numbers, false, expected);
+
+        assertTrue(SortAlgorithms.isSorted(numbers, false));
+        assertEquals(1, stats.getSorts());
+        assertEquals(10_000, stats.getElements());
+        assertEquals(expected.getCompares(), stats.getCompares());
+        assertEquals(expected.getSwaps(), stats.getSwaps());
+        assertEquals(expected.getWrites(), stats.getWrites());
+        assertEquals(expected.getPartitions(), stats.getPartitions());
+        assertTrue(stats.getCompares() > 0);
+        assertEquals(0, stats.getUnsortedResults());
+        assertTrue(stats.getMaxStackDepth() > 0 && stats.getMaxStackDepth() <= 15, "" + stats.getMaxStackDepth());
+        assertEquals(algorithm.lastStackDepth(), stats.getMaxStackDepth());
+        assertTrue(stats.getTotalTimeNanos() > 0);
+    }
+
+    /**
+     * Tests that an unobserved sort, also when guarded against cancellation as the instant mode does,
+     * is timed but its steps are not counted.
+     */
+    @Test
+    void testUnobservedSortIsOnlyTimed() {
+        SortStats stats = new SortStats();
+        stats.sort(new PdqSort(), new Random(25).ints(1000).toArray(), true, SortListener.NONE);
+        stats.sort(new QuickSort(), new Random(26).ints(1000).toArray(), true,
+                new CancellationToken().guard(SortListener.NONE));
+
+        assertEquals(2, stats.getSorts());
+        assertEquals(2000, stats.getElements());
+        assertEquals(0, stats.getCompares());
+        assertEquals(0, stats.getPartitions());
+    }
+
+    /**
+     * Tests that the deepest stack of parallel and adaptive sorts is recorded, the maximum over all sorts.
+     */
+    @Test
+    void testRecordsMaxStackDepth() {
+        SortStats stats = new SortStats();
+        ParallelQuickSort parallelSort = new ParallelQuickSort(ForkJoinPool.commonPool(), 64, PartitionScheme.LOMUTO);
+        stats.sort(parallelSort, new Random(28).ints(100_000).toArray(), false, SortListener.NONE);
+
+        assertTrue(parallelSort.lastStackDepth() > 0);
+        assertEquals(parallelSort.lastStackDepth(), stats.getMaxStackDepth());
+
+        AdaptiveSort adaptiveSort = new AdaptiveSort(4);
+        stats.sort(adaptiveSort, new Random(29).ints(AdaptiveSort.PARALLEL_THRESHOLD).toArray(), false,
+                SortListener.NONE);
+        assertEquals(AdaptiveSort.Route.PARALLEL, adaptiveSort.getLastDecision().route());
+        assertTrue(adaptiveSort.lastStackDepth() > 0);
+        assertEquals(Math.max(parallelSort.lastStackDepth(), adaptiveSort.lastStackDepth()), stats.getMaxStackDepth());
+
+        stats.reset();
+        assertEquals(0, stats.getMaxStackDepth());
+    }
+
+    /**
+     * Tests that a sort leaving its numbers out of order is counted as such.
+     */
+    @Test
+    void testCountsUnsortedResult() {
+        SortStats stats = new SortStats();
+        SortAlgorithm broken = new SortAlgorithm() {
+            @Override
+            public String getName() {
+                return "Broken";
+            }
+
+            @Override
+            public void sort(int[] arr, boolean descending, SortListener listener) {
+            }
+        };
+
+        stats.sort(broken, new int[]{2, 1, 3}, false, SortListener.NONE);
+        stats.sort(new QuickSort(), new int[]{2, 1, 3}, false, SortListener.NONE);
+
+        assertEquals(2, stats.getSorts());
+        assertEquals(1, stats.getUnsortedResults());
+    }
+
+    /**
+     * Tests that a cancelled sort is counted as cancelled only.
+     */
+    @Test
+    void testCountsCancelledSort() {
+        SortStats stats = new SortStats();
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertThrows(SortCancelledException.class,
+                () -> stats.sort(new QuickSort(), new int[]{3, 2, 1}, false, token.guard(SortListener.NONE)));
+        assertEquals(0, stats.getSorts());
+        assertEquals(1, stats.getCancelledSorts());
+    }
+
+    /**
+     * Tests that the routes of adaptive sorts are counted, one new instance per sort as in the application,
+     * and that a sort without a decision is not.
+     */
+    @Test
+    void testCountsAdaptiveRoutes() {
+        SortStats stats = new SortStats();
+        Random random = new Random(27);
+
+        stats.sort(new AdaptiveSort(), random.ints(1000, 1, 1001).toArray(), false, SortListener.NONE);
+        stats.sort(new AdaptiveSort(), random.ints(1000).toArray(), false, SortListener.NONE);
+        stats.sort(new AdaptiveSort(), random.ints(1000).toArray(), true, new StepCounter());
+        AdaptiveSort reused = new AdaptiveSort();
+        stats.sort(reused, IntStream.range(0, 1000).toArray(), false, SortListener.NONE);
+        stats.sort(reused, new int[]{1}, false, SortListener.NONE);
+
+        Map<String, Long> routes = stats.getAdaptiveRoutes();
+        assertEquals(1, routes.get(AdaptiveSort.Route.COUNTING.name()).longValue());
+        assertEquals(2, routes.get(AdaptiveSort.Route.PDQ.name()).longValue());
+        assertEquals(1, routes.get(AdaptiveSort.Route.RUN_MERGE.name()).longValue());
+        assertEquals(0, routes.get(AdaptiveSort.Route.PARALLEL.name()).longValue());
+
+        stats.reset();
+        assertEquals(0, stats.getAdaptiveRoutes().get(AdaptiveSort.Route.PDQ.name()).longValue());
+    }
+
+    /**
+     * Tests that wall times land in the power of two bucket of their microseconds, per algorithm.
+     */
+    @Test
+    void testHistograms() {
+        assertEquals(0, SortStats.bucket(999));
+        assertEquals(1, SortStats.bucket(1_000));
+        assertEquals(2, SortStats.bucket(3_999));
+        assertEquals(11, SortStats.bucket(1_500_000));
+        assertEquals(SortStats.HISTOGRAM_BUCKETS - 1, SortStats.bucket(Long.MAX_VALUE));
+
+        SortStats stats = new SortStats();
+        stats.record(new SortMetrics("A", 10, 1_500_000, 0, 0, 0, 0, true), 0);
+        stats.record(new SortMetrics("A", 10, 1_600_000, 0, 0, 0, 0, true), 0);
+        stats.record(new SortMetrics("B", 10, 500, 0, 0, 0, 0, true), 0);
+
+        Map<String, long[]> histograms = stats.getTimeHistograms();
+        long[] a = new long[SortStats.HISTOGRAM_BUCKETS];
+        a[11] = 2;
+        long[] b = new long[SortStats.HISTOGRAM_BUCKETS];
+        b[0] = 1;
+        assertArrayEquals(a, histograms.get("A"));
+        assertArrayEquals(b, histograms.get("B"));
+        assertEquals(2048, stats.getHistogramLimitsMicros()[11]);
+
+        stats.recordFrame();
+        stats.reset();
+        assertEquals(0, stats.getSorts());
+        assertEquals(0, stats.getFrames());
+        assertTrue(stats.getTimeHistograms().isEmpty());
+    }
+
+    /**
+     * Tests that sorts of the engine are published through the platform MBean server.
+     */
+    @Test
+    void testPublishedOverJmx() throws Exception {
+        SortEngine.sort(new int[]{3, 1, 2}, SortOrder.UNSORTED, new QuickSort(), false, new StepCounter());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SortStats.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertTrue((Long) server.getAttribute(name, "Sorts") >= 1);
+        assertTrue((Long) server.getAttribute(name, "Compares") >= 2);
+        assertTrue(server.getAttribute(name, "AdaptiveRoutes") instanceof TabularData);
+        TabularData histograms = (TabularData) server.getAttribute(name, "TimeHistograms");
+        CompositeData quickSort = histograms.get(new Object[]{"Quicksort"});
+        assertEquals(SortStats.HISTOGRAM_BUCKETS, ((long[]) quickSort.get("value")).length);
+    }
+}
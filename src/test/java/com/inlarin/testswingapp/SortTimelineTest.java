@@ -0,0 +1,143 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SortTimeline}.
+ */
+class SortTimelineTest {
+
+    /**
+     * Tests that jumping to random steps shows the same numbers as replaying the trace up to them,
+     * for a sort that swaps and one that writes.
+     */
+    @Test
+    void testSeekMatchesReplay() {
+        int[] numbers = new Random(11).ints(300, -500, 501).toArray();
+        for (SortAlgorithm algorithm : List.of(new QuickSort(), new MergeSort())) {
+            SortTrace trace = TraceRecorder.record(algorithm, numbers, false, true);
+            List<int[]> states = states(trace);
+            SortTimeline timeline = new SortTimeline(trace, 4L * numbers.length * 8);
+            assertTrue(timeline.keyframeCount() > 1);
+
+            Random random = new Random(12);
+            for (int k = 0; k < 200; k++) {
+                int target = random.nextInt(states.size());
+                timeline.seek(target, SortListener.NONE);
+                assertEquals(target, timeline.getStep());
+                assertArrayEquals(states.get(target), timeline.toArray(), algorithm.getName() + " at " + target);
+            }
+        }
+    }
+
+    /**
+     * Tests that stepping backward from the end passes through every state in reverse and reports inverse steps
+     * that bring a copy of the numbers back as well.
+     */
+    @Test
+    void testStepBackwardToStart() {
+        int[] numbers = new Random(13).ints(200, 1, 1001).toArray();
+        SortTrace trace = TraceRecorder.record(new MergeSort(), numbers, true, false);
+        List<int[]> states = states(trace);
+        SortTimeline timeline = new SortTimeline(trace, 0);
+        timeline.seek(timeline.getLength(), SortListener.NONE);
+        int[] shown = timeline.toArray();
+        SortListener applier = applier(shown);
+
+        for (int step = (int) timeline.getLength() - 1; step >= 0; step--) {
+            assertTrue(timeline.stepBackward(applier));
+            assertArrayEquals(states.get(step), timeline.toArray());
+        }
+        assertFalse(timeline.stepBackward(applier));
+        assertArrayEquals(numbers, shown);
+    }
+
+    /**
+     * Tests that a seek within one interval reports the steps in between, while a farther one jumps.
+     */
+    @Test
+    void testShortSeekReportsSteps() {
+        int[] numbers = new Random(14).ints(2000, 1, 1001).toArray();
+        SortTrace trace = TraceRecorder.record(new QuickSort(), numbers, false, false);
+        SortTimeline timeline = new SortTimeline(trace, 4L * numbers.length * 4);
+        int[] shown = trace.initialValues();
+        SortListener applier = applier(shown);
+
+        assertTrue(timeline.seek(timeline.getInterval() / 2, applier));
+        assertTrue(timeline.seek(3, applier));
+        assertArrayEquals(timeline.toArray(), shown);
+
+        assertFalse(timeline.seek(timeline.getLength(), applier));
+        assertTrue(SortAlgorithms.isSorted(timeline.toArray(), false));
+        assertThrows(IllegalArgumentException.class, () -> timeline.seek(timeline.getLength() + 1, applier));
+    }
+
+    /**
+     * Tests that the keyframes stay within the budget, and that a budget too small for two keyframes keeps only the first.
+     */
+    @Test
+    void testKeyframeBudget() {
+        int[] numbers = new Random(15).ints(10_000, 1, 1_000_001).toArray();
+        SortTrace trace = TraceRecorder.record(new QuickSort(), numbers, false, false);
+
+        long budget = 4L * numbers.length * 10;
+        SortTimeline timeline = new SortTimeline(trace, budget);
+        assertTrue(timeline.keyframeBytes() <= budget);
+        assertTrue(timeline.keyframeCount() > 5, timeline.keyframeCount() + " keyframes");
+
+        SortTimeline single = new SortTimeline(trace, 1);
+        assertEquals(1, single.keyframeCount());
+        assertEquals(trace.steps() + 1, single.getInterval());
+    }
+
+    /**
+     * Replays the trace and collects the numbers before every step and after the last one.
+     *
+     * @param trace the trace
+     * @return the states, one more than there are steps
+     */
+    private static List<int[]> states(SortTrace trace) {
+        List<int[]> states = new ArrayList<>();
+        int[] values = trace.initialValues();
+        states.add(values.clone());
+        SortTrace.Reader reader = trace.reader();
+        SortListener applier = applier(values);
+        while (reader.hasNext()) {
+            reader.next(applier);
+            states.add(values.clone());
+        }
+        return states;
+    }
+
+    /**
+     * Returns a listener applying swaps and writes to the array.
+     *
+     * @param arr the array to change
+     * @return the listener
+     */
+    private static SortListener applier(int[] arr) {
+        return new SortListener() {
+            @Override
+            public void onSwap(int i, int j) {
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                arr[index] = value;
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TraceRecorder} and {@link SortTrace}.
+ */
+class SortTraceTest {
+
+    /**
+     * Tests that replaying the trace of every algorithm on the initial numbers reproduces the sorted numbers.
+     */
+    @Test
+    void testReplayReproducesSort() {
+        int[] numbers = new Random(7).ints(2000, -1000, 1001).toArray();
+        for (SortAlgorithm algorithm : SortAlgorithms.all()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                SortTrace trace = TraceRecorder.record(algorithm, numbers, descending, true);
+                int[] expected = numbers.clone();
+                algorithm.sort(expected, descending, SortListener.NONE);
+
+                int[] replayed = trace.initialValues();
+                trace.replay(applier(replayed));
+
+                assertArrayEquals(numbers, trace.initialValues(), algorithm.getName());
+                assertArrayEquals(expected, replayed, algorithm.getName());
+            }
+        }
+    }
+
+    /**
+     * Tests that steps far apart and writes of extreme values survive the encoding.
+     */
+    @Test
+    void testExtremeSteps() {
+        TraceRecorder recorder = new TraceRecorder(new int[1_000_000], true);
+        recorder.onWrite(999_999, Integer.MIN_VALUE);
+        recorder.onWrite(0, Integer.MAX_VALUE);
+        recorder.onSwap(999_999, 0);
+        recorder.onCompare(0, 999_999);
+        recorder.onWrite(0, Integer.MAX_VALUE);
+
+        List<String> steps = new ArrayList<>();
+        recorder.toTrace().replay(new SortListener() {
+            @Override
+            public void onCompare(int i, int j) {
+                steps.add("compare " + i + " " + j);
+            }
+
+            @Override
+            public void onSwap(int i, int j) {
+                steps.add("swap " + i + " " + j);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                steps.add("write " + index + " " + value);
+            }
+        });
+
+        assertEquals(List.of("write 999999 " + Integer.MIN_VALUE, "write 0 " + Integer.MAX_VALUE, "swap 999999 0",
+                "compare 0 999999", "write 0 " + Integer.MAX_VALUE), steps);
+    }
+
+    /**
+     * Tests that the reader reports the kind of every step and that compares can be left out of the trace.
+     */
+    @Test
+    void testCountsAndKinds() {
+        int[] numbers = new Random(8).ints(500, 1, 1001).toArray();
+        SortTrace full = TraceRecorder.record(new QuickSort(), numbers, false, true);
+        SortTrace moves = TraceRecorder.record(new QuickSort(), numbers, false, false);
+
+        assertTrue(full.getCompares() > 0);
+        assertEquals(0, moves.getCompares());
+        assertEquals(full.moves(), moves.moves());
+        assertTrue(moves.getByteLength() < full.getByteLength());
+
+        long[] kinds = new long[3];
+        SortTrace.Reader reader = full.reader();
+        while (reader.hasNext()) {
+            kinds[reader.next(SortListener.NONE)]++;
+        }
+        assertEquals(full.getCompares(), kinds[SortTrace.COMPARE]);
+        assertEquals(full.getSwaps(), kinds[SortTrace.SWAP]);
+        assertEquals(full.getWrites(), kinds[SortTrace.WRITE]);
+    }
+
+    /**
+     * Tests that the trace of a million numbers takes a few bytes per step.
+     */
+    @Test
+    void testRecordsMillionNumbersCompactly() {
+        int[] numbers = new Random(9).ints(1_000_000, 1, 1_000_001).toArray();
+
+        SortTrace trace = TraceRecorder.record(new QuickSort(), numbers, false, false);
+
+        assertTrue(trace.getByteLength() <= 6 * trace.steps(),
+                trace.getByteLength() + " bytes for " + trace.steps() + " steps");
+        int[] replayed = trace.initialValues();
+        trace.replay(applier(replayed));
+        assertTrue(SortAlgorithms.isSorted(replayed, false));
+    }
+
+    /**
+     * Returns a listener applying swaps and writes to the array.
+     *
+     * @param arr the array to change
+     * @return the listener
+     */
+    private static SortListener applier(int[] arr) {
+        return new SortListener() {
+            @Override
+            public void onSwap(int i, int j) {
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                arr[index] = value;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.inlarin.testswingapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link StepRingBuffer}.
+ */
+class StepRingBufferTest {
+
+    /**
+     * Tests that the capacity is rounded up to a power of two and a full buffer refuses further steps.
+     */
+    @Test
+    void testCapacity() {
+        StepRingBuffer buffer = new StepRingBuffer(5);
+        assertEquals(8, buffer.capacity());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(StepRingBuffer.swap(i, i + 1)));
+        }
+        assertFalse(buffer.offer(StepRingBuffer.swap(0, 1)));
+        assertEquals(8, buffer.size());
+    }
+
+    /**
+     * Tests that swaps and writes, including negative values and large indices, survive packing and wrap-around.
+     */
+    @Test
+    void testDrainDecodesSteps() {
+        StepRingBuffer buffer = new StepRingBuffer(4);
+        List<String> drained = new ArrayList<>();
+        SortListener recorder = new SortListener() {
+            @Override
+            public void onSwap(int i, int j) {
+                drained.add("swap " + i + " " + j);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                drained.add("write " + index + " " + value);
+            }
+        };
+
+        for (int round = 0; round < 3; round++) {
+            buffer.offer(StepRingBuffer.swap(Integer.MAX_VALUE, 0));
+            buffer.offer(StepRingBuffer.write(999_999, -42));
+            buffer.offer(StepRingBuffer.write(0, Integer.MIN_VALUE));
+            assertEquals(2, buffer.drainTo(recorder, 2));
+            assertEquals(1, buffer.drainTo(recorder, 10));
+        }
+
+        assertEquals(9, drained.size());
+        assertEquals("swap " + Integer.MAX_VALUE + " 0", drained.get(6));
+        assertEquals("write 999999 -42", drained.get(7));
+        assertEquals("write 0 " + Integer.MIN_VALUE, drained.get(8));
+    }
+
+    /**
+     * Tests that a consumer thread receives every step of a producer thread in order.
+     */
+    @Test
+    void testProducerConsumerOrder() throws Exception {
+        int count = 1_000_000;
+        StepRingBuffer buffer = new StepRingBuffer(64);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                buffer.put(StepRingBuffer.write(i, -i), () -> false);
+            }
+        });
+        producer.start();
+
+        int[] next = new int[1];
+        boolean[] ordered = {true};
+        SortListener checker = new SortListener() {
+            @Override
+            public void onWrite(int index, int value) {
+                ordered[0] &= index == next[0] && value == -next[0];
+                next[0]++;
+            }
+        };
+        while (next[0] < count) {
+            buffer.drainTo(checker, 16);
+        }
+        producer.join();
+
+        assertTrue(ordered[0], "Steps should arrive in order");
+        assertEquals(0, buffer.size());
+    }
+}